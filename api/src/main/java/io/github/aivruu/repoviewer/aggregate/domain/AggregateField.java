@@ -0,0 +1,66 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.aggregate.domain;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Represents the optional-fields of the aggregate-roots that can be excluded from the decoding through a projection.
+ * <br>
+ * The identifiers, names, tag-names and the repositories' numeric and boolean properties are always decoded. Any
+ * field not included in the projection is provided as an empty-value, or {@code null} if the field is nullable.
+ *
+ * @since 4.1.0
+ */
+public enum AggregateField {
+  /** The repository's owner. */
+  OWNER,
+  /** The repository's description. */
+  DESCRIPTION,
+  /** The repository's license. */
+  LICENSE,
+  /** The repository's parent, only present for forked-repositories. */
+  PARENT,
+  /** The repository's most-used programming-language. */
+  LANGUAGE,
+  /** The repository's topics. */
+  TOPICS,
+  /** The release's author. */
+  AUTHOR,
+  /** The release's assets. */
+  ASSETS;
+
+  /** A projection that includes all the fields. */
+  public static final Set<AggregateField> ALL = Collections.unmodifiableSet(EnumSet.allOf(AggregateField.class));
+
+  /**
+   * Creates a new projection with the given fields.
+   *
+   * @param fields the fields to include.
+   * @return An unmodifiable set with the fields.
+   * @since 4.1.0
+   */
+  public static @NotNull Set<AggregateField> projection(final @NotNull AggregateField... fields) {
+    final var projection = EnumSet.noneOf(AggregateField.class);
+    Collections.addAll(projection, fields);
+    return Collections.unmodifiableSet(projection);
+  }
+}
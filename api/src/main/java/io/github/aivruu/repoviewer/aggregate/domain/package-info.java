@@ -1,5 +1,5 @@
 /**
- * Provides access to the main aggregate-root abstraction.
+ * Provides access to the main aggregate-root abstraction and the projection-fields enum-type.
  *
  * @since 4.0.0
  */
@@ -0,0 +1,329 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.cache.application;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded in-memory cache for the {@link AggregateRoot}s provided by the requests, keyed by the request's url, the
+ * aggregate-root's type and the credential used to fetch it, so the data fetched with a token is never provided to
+ * the requests made with other tokens or without any.
+ * <br>
+ * Every entry expires after the time-to-live defined for its aggregate-root's type, or the default one if none
+ * is defined. The lookups never take the lock, they only mark the found entry as accessed. Once the maximum-size is
+ * exceeded, the writes evict the entries using the second-chance algorithm: the entries are visited in write-order,
+ * the accessed ones are unmarked and moved to the end, and the first entry not accessed since its last visit, or
+ * expired, is removed. The expired entries are otherwise kept until they're replaced or removed by an eviction.
+ *
+ * @since 4.1.0
+ */
+public final class AggregateCache {
+  /** The entries read by the lookups, every write updates them while holding the lock. */
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  /** The entries in eviction-order, guarded by the lock. */
+  private final LinkedHashMap<Key, Entry> evictionOrder = new LinkedHashMap<>();
+  private final Map<Class<? extends AggregateRoot>, Long> expirations = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final int maximumSize;
+  private final long defaultExpirationNanos;
+
+  /**
+   * Creates a new {@link AggregateCache} with the given parameters.
+   *
+   * @param maximumSize the maximum amount of entries to keep.
+   * @param defaultExpiration the time-to-live for entries whose type has no specific expiration defined.
+   * @throws IllegalArgumentException if the maximum-size is not positive.
+   * @since 4.1.0
+   */
+  public AggregateCache(final int maximumSize, final @NotNull Duration defaultExpiration) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("The cache's maximum-size must be positive.");
+    }
+    this.maximumSize = maximumSize;
+    this.defaultExpirationNanos = defaultExpiration.toNanos();
+  }
+
+  /**
+   * Defines the time-to-live for the entries of the given aggregate-root type.
+   *
+   * @param type the aggregate-root's type.
+   * @param expiration the entries' time-to-live.
+   * @return This {@link AggregateCache} instance.
+   * @since 4.1.0
+   */
+  public @NotNull AggregateCache expireAfterWrite(
+    final @NotNull Class<? extends AggregateRoot> type, final @NotNull Duration expiration
+  ) {
+    this.expirations.put(type, expiration.toNanos());
+    return this;
+  }
+
+  /**
+   * Returns the non-expired aggregate-root stored for the given url and type by an anonymous request.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The stored aggregate-root, or {@code null} if there's none or it has expired.
+   * @see #get(URI, Class, String)
+   * @since 4.1.0
+   */
+  public <A extends AggregateRoot> @Nullable A get(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type
+  ) {
+    return this.get(uri, type, null);
+  }
+
+  /**
+   * Returns the non-expired aggregate-root stored for the given url, type and credential, without taking the cache's
+   * lock.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The stored aggregate-root, or {@code null} if there's none or it has expired.
+   * @since 4.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <A extends AggregateRoot> @Nullable A get(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type, final @Nullable String credential
+  ) {
+    final var entry = this.entries.get(new Key(uri, type, credential));
+    if (entry == null || entry.isExpired(System.nanoTime())) {
+      this.misses.increment();
+      return null;
+    }
+    // The flag is only written once per eviction-visit, so the hot entries' reads don't contend on it.
+    if (!entry.accessed) {
+      entry.accessed = true;
+    }
+    this.hits.increment();
+    return (A) entry.aggregateRoot;
+  }
+
+  /**
+   * Stores the given aggregate-root for the url and type fetched by an anonymous request.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param aggregateRoot the aggregate-root to store.
+   * @see #put(URI, Class, String, AggregateRoot)
+   * @since 4.1.0
+   */
+  public void put(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type,
+    final @NotNull AggregateRoot aggregateRoot
+  ) {
+    this.put(uri, type, null, aggregateRoot);
+  }
+
+  /**
+   * Stores the given aggregate-root for the url, type and credential, evicting other entries if the maximum-size is
+   * exceeded.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param aggregateRoot the aggregate-root to store.
+   * @since 4.1.0
+   */
+  public void put(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type, final @Nullable String credential,
+    final @NotNull AggregateRoot aggregateRoot
+  ) {
+    final var key = new Key(uri, type, credential);
+    final var entry = new Entry(aggregateRoot,
+      System.nanoTime() + this.expirations.getOrDefault(type, this.defaultExpirationNanos));
+    this.lock.lock();
+    try {
+      // The replaced entries are moved to the end, as they were just written.
+      this.evictionOrder.remove(key);
+      this.evictionOrder.put(key, entry);
+      this.entries.put(key, entry);
+      this.evict();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the entries until the maximum-size is not exceeded, the lock must be held.
+   * <br>
+   * Every visited entry is either removed or unmarked, so the removals are constant-time on average. The entries
+   * marked again by concurrent lookups get no more second chances once every entry was visited.
+   *
+   * @since 4.1.0
+   */
+  private void evict() {
+    final var now = System.nanoTime();
+    var secondChances = this.evictionOrder.size();
+    while (this.evictionOrder.size() > this.maximumSize) {
+      final var iterator = this.evictionOrder.entrySet().iterator();
+      final var eldest = iterator.next();
+      final var entry = eldest.getValue();
+      iterator.remove();
+      if (entry.accessed && !entry.isExpired(now) && secondChances-- > 0) {
+        // The entry gets a second chance at the end.
+        entry.accessed = false;
+        this.evictionOrder.put(eldest.getKey(), entry);
+        continue;
+      }
+      this.entries.remove(eldest.getKey());
+      this.evictions.increment();
+    }
+  }
+
+  /**
+   * Removes the entries stored for the given url and type, for every credential.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @since 4.1.0
+   */
+  public void invalidate(final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type) {
+    this.lock.lock();
+    try {
+      final var iterator = this.evictionOrder.keySet().iterator();
+      while (iterator.hasNext()) {
+        final var key = iterator.next();
+        if (key.uri().equals(uri) && key.type() == type) {
+          iterator.remove();
+          this.entries.remove(key);
+        }
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all the stored entries.
+   *
+   * @since 4.1.0
+   */
+  public void clear() {
+    this.lock.lock();
+    try {
+      this.evictionOrder.clear();
+      this.entries.clear();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of entries currently stored, expired entries not removed yet are included.
+   *
+   * @return The cache's size.
+   * @since 4.1.0
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the amount of lookups that found a non-expired aggregate-root.
+   *
+   * @return The hits-amount.
+   * @since 4.1.0
+   */
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the amount of lookups that didn't find a non-expired aggregate-root.
+   *
+   * @return The misses-amount.
+   * @since 4.1.0
+   */
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the amount of entries removed to keep the cache under its maximum-size.
+   *
+   * @return The evictions-amount.
+   * @since 4.1.0
+   */
+  public long evictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * Represents the key for a stored aggregate-root.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @since 4.1.0
+   */
+  private record Key(
+    @NotNull URI uri, @NotNull Class<? extends AggregateRoot> type, @Nullable String credential
+  ) {}
+
+  /**
+   * Represents a stored aggregate-root with its expiration time.
+   *
+   * @since 4.1.0
+   */
+  private static final class Entry {
+    private final AggregateRoot aggregateRoot;
+    /** The expiration time in nanoseconds. */
+    private final long expiresAt;
+    /** Whether the entry was read since the eviction visited it. */
+    private volatile boolean accessed;
+
+    /**
+     * Creates a new {@link Entry} with the given parameters.
+     *
+     * @param aggregateRoot the stored aggregate-root.
+     * @param expiresAt the expiration time in nanoseconds.
+     * @since 4.1.0
+     */
+    private Entry(final @NotNull AggregateRoot aggregateRoot, final long expiresAt) {
+      this.aggregateRoot = aggregateRoot;
+      this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns whether the entry has expired at the given time.
+     *
+     * @param now the current time in nanoseconds.
+     * @return {@code true} if the entry has expired, {@code false} otherwise.
+     * @since 4.1.0
+     */
+    private boolean isExpired(final long now) {
+      return this.expiresAt - now <= 0;
+    }
+  }
+}
@@ -0,0 +1,530 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.cache.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A content-addressed on-disk cache for the downloaded assets, shared between the threads and the processes of the
+ * same host that use the same directory.
+ * <br>
+ * Every asset is stored once by its {@code SHA-256} checksum, and is indexed by its url alongside its validator
+ * ({@code ETag}) and size, so the same content downloaded from several urls is stored only once.
+ * <br>
+ * By default, the assets are stored and materialized using hard-links if possible, so the downloaded and
+ * materialized files share their content with the cache, and modifying them in place modifies the cached asset too.
+ * The cache can be created to always copy the files instead, when the callers may modify them. A cached asset found
+ * to be modified can be removed using {@link #invalidate(String)}.
+ * <br>
+ * Every use of an asset is tracked by the modification-time of an access-marker file, as the asset's own file is
+ * shared with the materialized files. Once the maximum-size is exceeded, the least-recently used assets are
+ * removed. The writes and evictions are
+ * serialized using a lock-file, and the files are written to temporary files which are moved atomically, so a
+ * concurrent reader never observes an incomplete asset.
+ *
+ * @since 4.1.0
+ */
+public final class AssetCache {
+  /** The algorithm of the checksums used to store the assets. */
+  public static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final Path objectsDirectory;
+  private final Path indexDirectory;
+  private final Path accessDirectory;
+  private final Path lockFile;
+  private final long maximumSize;
+  private final boolean hardLinks;
+
+  /**
+   * Creates a new {@link AssetCache} with the given parameters, creating its directories if necessary. The files are
+   * stored and materialized using hard-links if possible.
+   *
+   * @param directory the cache's directory.
+   * @param maximumSize the maximum amount of bytes to keep.
+   * @throws IllegalArgumentException if the maximum-size is not positive.
+   * @throws UncheckedIOException if the cache's directories couldn't be created.
+   * @see #AssetCache(Path, long, boolean)
+   * @since 4.1.0
+   */
+  public AssetCache(final @NotNull Path directory, final long maximumSize) {
+    this(directory, maximumSize, true);
+  }
+
+  /**
+   * Creates a new {@link AssetCache} with the given parameters, creating its directories if necessary.
+   *
+   * @param directory the cache's directory.
+   * @param maximumSize the maximum amount of bytes to keep.
+   * @param hardLinks whether the files are stored and materialized using hard-links if possible, otherwise they're
+   *     copied, so the downloaded and materialized files can be modified without modifying the cached assets.
+   * @throws IllegalArgumentException if the maximum-size is not positive.
+   * @throws UncheckedIOException if the cache's directories couldn't be created.
+   * @since 4.1.0
+   */
+  public AssetCache(final @NotNull Path directory, final long maximumSize, final boolean hardLinks) {
+    if (maximumSize < 1L) {
+      throw new IllegalArgumentException("The cache's maximum-size must be positive.");
+    }
+    this.objectsDirectory = directory.resolve("objects");
+    this.indexDirectory = directory.resolve("index");
+    this.accessDirectory = directory.resolve("access");
+    this.lockFile = directory.resolve(".lock");
+    this.maximumSize = maximumSize;
+    this.hardLinks = hardLinks;
+    try {
+      Files.createDirectories(this.objectsDirectory);
+      Files.createDirectories(this.indexDirectory);
+      Files.createDirectories(this.accessDirectory);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Materializes the asset stored for the given url into the destination, if its validator and size match. Assets
+   * without a validator and size are never materialized, as they can't be verified.
+   *
+   * @param url the asset's url.
+   * @param validator the asset's current {@code ETag}, or {@code null} if unknown.
+   * @param length the asset's current size, or {@code -1} if unknown.
+   * @param destination the asset's destination, it's replaced if it exists.
+   * @return The asset's {@code SHA-256} checksum, or {@code null} if there's no matching asset stored.
+   * @since 4.1.0
+   */
+  public @Nullable String materialize(
+    final @NotNull String url, final @Nullable String validator, final long length, final @NotNull Path destination
+  ) {
+    final var entry = this.readEntry(url);
+    if (entry == null || !entry.matches(url, validator, length)) {
+      this.misses.increment();
+      return null;
+    }
+    final var object = this.objectsDirectory.resolve(entry.digest());
+    try {
+      this.touch(entry.digest());
+      Files.deleteIfExists(destination);
+      this.link(object, destination);
+    } catch (final IOException exception) {
+      // The asset was evicted meanwhile.
+      this.misses.increment();
+      return null;
+    }
+    this.hits.increment();
+    return entry.digest();
+  }
+
+  /**
+   * Stores the given file as the asset for the url, evicting the least-recently used assets if the maximum-size is
+   * exceeded. Assets without a validator and size are not stored, as they couldn't be verified later.
+   *
+   * @param url the asset's url.
+   * @param validator the asset's {@code ETag}, or {@code null} if unknown.
+   * @param length the asset's size, or {@code -1} if unknown.
+   * @param source the downloaded asset.
+   * @param digest the asset's {@code SHA-256} checksum as an hexadecimal string.
+   * @return {@code true} if the asset was stored, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean store(
+    final @NotNull String url, final @Nullable String validator, final long length, final @NotNull Path source,
+    final @NotNull String digest
+  ) {
+    if (validator == null && length < 0L) {
+      return false;
+    }
+    final var object = this.objectsDirectory.resolve(digest);
+    final var temporaryObject = this.temporaryFile(this.objectsDirectory, digest);
+    final var indexEntry = this.indexDirectory.resolve(indexName(url));
+    final var temporaryIndexEntry = this.temporaryFile(this.indexDirectory, indexEntry.getFileName().toString());
+    try {
+      this.link(source, temporaryObject);
+      final var properties = new Properties();
+      properties.setProperty("url", url);
+      if (validator != null) {
+        properties.setProperty("validator", validator);
+      }
+      properties.setProperty("length", Long.toString(length));
+      properties.setProperty("digest", digest);
+      try (final var outputStream = Files.newOutputStream(temporaryIndexEntry)) {
+        properties.store(outputStream, null);
+      }
+      // The lock-file can't be acquired twice by the same process, so the threads are serialized first.
+      this.writeLock.lock();
+      try (final var lockChannel = FileChannel.open(this.lockFile, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE)) {
+        final var lock = lockChannel.lock();
+        try {
+          // The same content may have been stored by another thread or process, it's replaced by an identical one.
+          Files.move(temporaryObject, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+          Files.move(temporaryIndexEntry, indexEntry, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+          this.touch(digest);
+          this.evict();
+        } finally {
+          lock.release();
+        }
+      } finally {
+        this.writeLock.unlock();
+      }
+      return true;
+    } catch (final IOException exception) {
+      return false;
+    } finally {
+      deleteQuietly(temporaryObject);
+      deleteQuietly(temporaryIndexEntry);
+    }
+  }
+
+  /**
+   * Removes the asset stored for the given url, such as when its content doesn't match its checksum anymore. The
+   * other urls that store the same content are removed once their asset is found missing.
+   *
+   * @param url the asset's url.
+   * @since 4.1.0
+   */
+  public void invalidate(final @NotNull String url) {
+    this.writeLock.lock();
+    try (final var lockChannel = FileChannel.open(this.lockFile, StandardOpenOption.CREATE,
+      StandardOpenOption.WRITE)) {
+      final var lock = lockChannel.lock();
+      try {
+        // The entry is read while holding the lock-file, so an entry stored meanwhile is not removed.
+        final var entry = this.readEntry(url);
+        if (entry == null) {
+          return;
+        }
+        deleteQuietly(this.indexDirectory.resolve(indexName(url)));
+        deleteQuietly(this.objectsDirectory.resolve(entry.digest()));
+        deleteQuietly(this.accessDirectory.resolve(entry.digest()));
+      } finally {
+        lock.release();
+      }
+    } catch (final IOException exception) {
+      // The lock-file couldn't be acquired, the entry is removed on the next lookup that finds its asset missing.
+    } finally {
+      this.writeLock.unlock();
+    }
+  }
+
+  /**
+   * Removes the least-recently used assets until the cache fits its maximum-size, and the index-entries whose asset
+   * was removed. The lock-file must be held.
+   *
+   * @throws IOException if the cache's directories couldn't be listed.
+   * @since 4.1.0
+   */
+  private void evict() throws IOException {
+    final List<Path> objects = new ArrayList<>();
+    long size = 0L;
+    try (final var stream = Files.list(this.objectsDirectory)) {
+      for (final var object : (Iterable<Path>) stream::iterator) {
+        if (object.getFileName().toString().endsWith(TEMPORARY_FILE_EXTENSION)) {
+          continue;
+        }
+        objects.add(object);
+        size += Files.size(object);
+      }
+    }
+    if (size <= this.maximumSize) {
+      return;
+    }
+    objects.sort(Comparator.comparing(object -> lastModifiedTime(this.accessDirectory.resolve(object.getFileName()))));
+    for (final var object : objects) {
+      if (size <= this.maximumSize) {
+        break;
+      }
+      final var objectSize = Files.size(object);
+      if (deleteQuietly(object)) {
+        deleteQuietly(this.accessDirectory.resolve(object.getFileName()));
+        size -= objectSize;
+        this.evictions.increment();
+      }
+    }
+    try (final var stream = Files.list(this.indexDirectory)) {
+      for (final var indexEntry : (Iterable<Path>) stream::iterator) {
+        final var entry = readEntry(indexEntry);
+        if (entry != null && !Files.exists(this.objectsDirectory.resolve(entry.digest()))) {
+          deleteQuietly(indexEntry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the amount of bytes currently stored.
+   *
+   * @return The cache's size in bytes.
+   * @throws UncheckedIOException if the cache's directory couldn't be listed.
+   * @since 4.1.0
+   */
+  public long size() {
+    try (final var stream = Files.list(this.objectsDirectory)) {
+      long size = 0L;
+      for (final var object : (Iterable<Path>) stream::iterator) {
+        if (!object.getFileName().toString().endsWith(TEMPORARY_FILE_EXTENSION)) {
+          size += Files.size(object);
+        }
+      }
+      return size;
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Returns the amount of assets materialized from the cache.
+   *
+   * @return The hits-amount.
+   * @since 4.1.0
+   */
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the amount of lookups that didn't find a matching asset.
+   *
+   * @return The misses-amount.
+   * @since 4.1.0
+   */
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the amount of assets removed by this instance to keep the cache under its maximum-size.
+   *
+   * @return The evictions-amount.
+   * @since 4.1.0
+   */
+  public long evictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * Reads the index-entry stored for the given url.
+   *
+   * @param url the asset's url.
+   * @return The {@link Entry}, or {@code null} if there's none or it couldn't be read.
+   * @since 4.1.0
+   */
+  private @Nullable Entry readEntry(final @NotNull String url) {
+    return readEntry(this.indexDirectory.resolve(indexName(url)));
+  }
+
+  /**
+   * Records a use of the given asset, updating the modification-time of its access-marker.
+   * <br>
+   * The asset's own file can't be touched, as it's hard-linked to the materialized files which would be modified too,
+   * and the access-time is not reliable on every file-system.
+   *
+   * @param digest the asset's checksum.
+   * @throws IOException if the access-marker couldn't be updated.
+   * @since 4.1.0
+   */
+  private void touch(final @NotNull String digest) throws IOException {
+    final var marker = this.accessDirectory.resolve(digest);
+    try {
+      Files.setLastModifiedTime(marker, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (final NoSuchFileException exception) {
+      try {
+        Files.createFile(marker);
+      } catch (final FileAlreadyExistsException ignored) {
+        // Created meanwhile by another thread or process.
+      }
+    }
+  }
+
+  /**
+   * Returns a new temporary file's path for the given name, unique between threads and processes.
+   *
+   * @param directory the file's directory.
+   * @param name the file's name.
+   * @return The temporary file's path.
+   * @since 4.1.0
+   */
+  private @NotNull Path temporaryFile(final @NotNull Path directory, final @NotNull String name) {
+    return directory.resolve(name + '.' + UUID.randomUUID() + TEMPORARY_FILE_EXTENSION);
+  }
+
+  /**
+   * Reads the given index-entry file.
+   *
+   * @param indexEntry the index-entry's file.
+   * @return The {@link Entry}, or {@code null} if it doesn't exist or it couldn't be read.
+   * @since 4.1.0
+   */
+  private static @Nullable Entry readEntry(final @NotNull Path indexEntry) {
+    final var properties = new Properties();
+    try (final var inputStream = Files.newInputStream(indexEntry)) {
+      properties.load(inputStream);
+      final var url = properties.getProperty("url");
+      final var digest = properties.getProperty("digest");
+      if (url == null || digest == null) {
+        return null;
+      }
+      return new Entry(url, properties.getProperty("validator"),
+        Long.parseLong(properties.getProperty("length", "-1")), digest);
+    } catch (final IOException | NumberFormatException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the index-entry's file-name for the given url.
+   *
+   * @param url the asset's url.
+   * @return The url's {@code SHA-256} checksum as an hexadecimal string.
+   * @since 4.1.0
+   */
+  private static @NotNull String indexName(final @NotNull String url) {
+    try {
+      final var digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException exception) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Creates a hard-link to the source at the destination if this cache uses hard-links and the file-system supports
+   * them, otherwise copies it.
+   *
+   * @param source the file to link.
+   * @param destination the link's path, it must not exist.
+   * @throws IOException if the file couldn't be linked or copied.
+   * @since 4.1.0
+   */
+  private void link(final @NotNull Path source, final @NotNull Path destination) throws IOException {
+    if (!this.hardLinks) {
+      copy(source, destination);
+      return;
+    }
+    try {
+      Files.createLink(destination, source);
+    } catch (final UnsupportedOperationException | FileSystemException exception) {
+      // The hard-links are not supported, or the paths are in different file-systems.
+      copy(source, destination);
+    }
+  }
+
+  /**
+   * Copies the source to the destination.
+   *
+   * @param source the file to copy.
+   * @param destination the copy's path, it must not exist.
+   * @throws IOException if the file couldn't be copied.
+   * @since 4.1.0
+   */
+  private static void copy(final @NotNull Path source, final @NotNull Path destination) throws IOException {
+    try (final var sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+         final var destinationChannel = FileChannel.open(destination, StandardOpenOption.CREATE_NEW,
+           StandardOpenOption.WRITE)) {
+      final var size = sourceChannel.size();
+      var position = 0L;
+      while (position < size) {
+        position += sourceChannel.transferTo(position, size - position, destinationChannel);
+      }
+    }
+  }
+
+  /**
+   * Returns the file's last modification-time, or the epoch if it doesn't exist.
+   *
+   * @param file the file.
+   * @return The file's {@link FileTime}.
+   * @since 4.1.0
+   */
+  private static @NotNull FileTime lastModifiedTime(final @NotNull Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (final IOException exception) {
+      return FileTime.fromMillis(0L);
+    }
+  }
+
+  /**
+   * Deletes the given file if it exists, ignoring any error.
+   *
+   * @param file the file to delete.
+   * @return {@code true} if the file was deleted, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean deleteQuietly(final @NotNull Path file) {
+    try {
+      return Files.deleteIfExists(file);
+    } catch (final IOException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Represents an index-entry, which references a stored asset by its checksum.
+   *
+   * @param url the asset's url.
+   * @param validator the asset's {@code ETag}, or {@code null}.
+   * @param length the asset's size, or {@code -1} if unknown.
+   * @param digest the asset's {@code SHA-256} checksum.
+   * @since 4.1.0
+   */
+  private record Entry(@NotNull String url, @Nullable String validator, long length, @NotNull String digest) {
+    /**
+     * Returns whether this entry references the asset currently provided by the url. At least a validator or size
+     * must be known, otherwise any asset provided later by the url would match.
+     *
+     * @param url the asset's url.
+     * @param validator the asset's current {@code ETag}, or {@code null} if unknown.
+     * @param length the asset's current size, or {@code -1} if unknown.
+     * @return {@code true} if the entry matches, {@code false} otherwise.
+     * @since 4.1.0
+     */
+    private boolean matches(final @NotNull String url, final @Nullable String validator, final long length) {
+      return (validator != null || length >= 0L) && this.url.equals(url) && Objects.equals(this.validator, validator)
+        && this.length == length;
+    }
+  }
+}
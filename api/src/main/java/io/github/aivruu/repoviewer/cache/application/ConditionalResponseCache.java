@@ -0,0 +1,227 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.cache.application;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache that stores the validators ({@code ETag} and {@code Last-Modified}) of each response alongside the
+ * {@link AggregateRoot} decoded from it, so the following requests to the same url can be made conditional, and a
+ * {@code 304 Not Modified} response can be answered with the previously-decoded aggregate-root.
+ * <br>
+ * The entries are keyed by the url and the credential used to fetch them, so the data fetched with a token is never
+ * provided to the requests made with other tokens or without any.
+ * <br>
+ * This cache is thread-safe and is expected to be shared between all the requests built for the same urls.
+ *
+ * @since 4.1.0
+ */
+public final class ConditionalResponseCache {
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder revalidations = new LongAdder();
+
+  /**
+   * Adds the {@code If-None-Match} and {@code If-Modified-Since} headers to the given request-builder if there's a
+   * stored entry for the provided url and an anonymous request.
+   *
+   * @param uri the request's url.
+   * @param builder the request's builder.
+   * @see #prepare(URI, String, HttpRequest.Builder)
+   * @since 4.1.0
+   */
+  public void prepare(final @NotNull URI uri, final @NotNull HttpRequest.Builder builder) {
+    this.prepare(uri, null, builder);
+  }
+
+  /**
+   * Adds the {@code If-None-Match} and {@code If-Modified-Since} headers to the given request-builder if there's a
+   * stored entry for the provided url and credential.
+   *
+   * @param uri the request's url.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param builder the request's builder.
+   * @since 4.1.0
+   */
+  public void prepare(
+    final @NotNull URI uri, final @Nullable String credential, final @NotNull HttpRequest.Builder builder
+  ) {
+    final var entry = this.entries.get(new Key(uri, credential));
+    if (entry == null) {
+      return;
+    }
+    if (entry.etag() != null) {
+      builder.header("If-None-Match", entry.etag());
+    }
+    if (entry.lastModified() != null) {
+      builder.header("If-Modified-Since", entry.lastModified());
+    }
+    this.revalidations.increment();
+  }
+
+  /**
+   * Returns the aggregate-root stored for the given url after a {@code 304} status-code was received for an
+   * anonymous request.
+   *
+   * @param uri the request's url.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The stored aggregate-root, or {@code null} if there's no entry for that url.
+   * @see #revalidated(URI, String)
+   * @since 4.1.0
+   */
+  public <A extends AggregateRoot> @Nullable A revalidated(final @NotNull URI uri) {
+    return this.revalidated(uri, null);
+  }
+
+  /**
+   * Returns the aggregate-root stored for the given url and credential after a {@code 304} status-code was received.
+   *
+   * @param uri the request's url.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The stored aggregate-root, or {@code null} if there's no entry for that url and credential.
+   * @since 4.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <A extends AggregateRoot> @Nullable A revalidated(final @NotNull URI uri, final @Nullable String credential) {
+    final var entry = this.entries.get(new Key(uri, credential));
+    if (entry == null) {
+      this.misses.increment();
+      return null;
+    }
+    this.hits.increment();
+    return (A) entry.aggregateRoot();
+  }
+
+  /**
+   * Stores the given aggregate-root for the url and an anonymous request.
+   *
+   * @param uri the request's url.
+   * @param headers the response's headers.
+   * @param aggregateRoot the aggregate-root decoded from the response.
+   * @see #store(URI, String, HttpHeaders, AggregateRoot)
+   * @since 4.1.0
+   */
+  public void store(
+    final @NotNull URI uri, final @NotNull HttpHeaders headers, final @NotNull AggregateRoot aggregateRoot
+  ) {
+    this.store(uri, null, headers, aggregateRoot);
+  }
+
+  /**
+   * Stores the given aggregate-root for the url and credential using the validators provided by the response's
+   * headers. If the response doesn't include any validator, any previous entry for the url and credential is removed.
+   *
+   * @param uri the request's url.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param headers the response's headers.
+   * @param aggregateRoot the aggregate-root decoded from the response.
+   * @since 4.1.0
+   */
+  public void store(
+    final @NotNull URI uri, final @Nullable String credential, final @NotNull HttpHeaders headers,
+    final @NotNull AggregateRoot aggregateRoot
+  ) {
+    final var key = new Key(uri, credential);
+    this.misses.increment();
+    final var etag = headers.firstValue("ETag").orElse(null);
+    final var lastModified = headers.firstValue("Last-Modified").orElse(null);
+    if (etag == null && lastModified == null) {
+      this.entries.remove(key);
+      return;
+    }
+    this.entries.put(key, new Entry(etag, lastModified, aggregateRoot));
+  }
+
+  /**
+   * Removes the stored entries for the given url, for every credential.
+   *
+   * @param uri the url to invalidate.
+   * @since 4.1.0
+   */
+  public void invalidate(final @NotNull URI uri) {
+    this.entries.keySet().removeIf(key -> key.uri().equals(uri));
+  }
+
+  /**
+   * Removes all the stored entries.
+   *
+   * @since 4.1.0
+   */
+  public void clear() {
+    this.entries.clear();
+  }
+
+  /**
+   * Returns the amount of {@code 304} responses that were answered with a stored aggregate-root.
+   *
+   * @return The hits-amount.
+   * @since 4.1.0
+   */
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the amount of responses that required a full body-decoding.
+   *
+   * @return The misses-amount.
+   * @since 4.1.0
+   */
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the amount of conditional-requests that were sent.
+   *
+   * @return The revalidations-amount.
+   * @since 4.1.0
+   */
+  public long revalidations() {
+    return this.revalidations.sum();
+  }
+
+  /**
+   * Represents the key for a stored response.
+   *
+   * @param uri the request's url.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @since 4.1.0
+   */
+  private record Key(@NotNull URI uri, @Nullable String credential) {}
+
+  /**
+   * Represents a stored response's validators and its decoded aggregate-root.
+   *
+   * @param etag the response's {@code ETag} header, or {@code null}.
+   * @param lastModified the response's {@code Last-Modified} header, or {@code null}.
+   * @param aggregateRoot the decoded aggregate-root.
+   * @since 4.1.0
+   */
+  private record Entry(@Nullable String etag, @Nullable String lastModified, @NotNull AggregateRoot aggregateRoot) {}
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides access to the conditional-requests response-cache, the bounded aggregate-roots cache and the on-disk
+ * assets cache.
+ *
+ * @since 4.1.0
+ */
+package io.github.aivruu.repoviewer.cache.application;
\ No newline at end of file
@@ -0,0 +1,6 @@
+/**
+ * Provides access to the application-layer for responses and aggregate-roots caching related-classes.
+ *
+ * @since 4.1.0
+ */
+package io.github.aivruu.repoviewer.cache;
\ No newline at end of file
@@ -0,0 +1,32 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Represents an entry extracted from an archive.
+ *
+ * @param name the entry's name inside the archive.
+ * @param path the entry's extracted path.
+ * @param size the amount of bytes written for the entry, {@code 0} for directories.
+ * @param directory whether the entry is a directory.
+ * @since 4.1.0
+ */
+public record ArchiveEntry(@NotNull String name, @NotNull Path path, long size, boolean directory) {}
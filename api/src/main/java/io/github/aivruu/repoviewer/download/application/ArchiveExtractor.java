@@ -0,0 +1,446 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Utility-class that extracts the archives from a stream while it's read, so the archive is never written to the
+ * disk.
+ * <br>
+ * The tar archives are read using the ustar format, including the pax and GNU long-names extensions. Only the
+ * directories and regular-files are extracted, the links and special-files are skipped. Every entry must be
+ * extracted inside the target-directory, otherwise the extraction fails; the entries naming the target-directory
+ * itself, such as the {@code ./} root-entry, are skipped.
+ *
+ * @since 4.1.0
+ */
+final class ArchiveExtractor {
+  /** The size of the tar's headers and data-blocks. */
+  private static final int TAR_BLOCK_SIZE = 512;
+  /** The size of the buffer used to read the archives and write their entries. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private ArchiveExtractor() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  /**
+   * Extracts the archive read from the given stream into the directory.
+   *
+   * @param inputStream the archive's stream.
+   * @param format the {@link ArchiveFormat}.
+   * @param directory the target-directory.
+   * @param listener the consumer notified after every entry is extracted.
+   * @return The amount of bytes written for all the entries.
+   * @throws IOException if the archive couldn't be read, it's not valid, or an entry couldn't be extracted.
+   * @since 4.1.0
+   */
+  static long extract(
+    final @NotNull InputStream inputStream, final @NotNull ArchiveFormat format, final @NotNull Path directory,
+    final @NotNull Consumer<ArchiveEntry> listener
+  ) throws IOException {
+    final var targetDirectory = directory.toAbsolutePath().normalize();
+    Files.createDirectories(targetDirectory);
+    return switch (format) {
+      case TAR -> extractTar(inputStream, targetDirectory, listener);
+      case TAR_GZ -> extractTar(new GZIPInputStream(inputStream, BUFFER_SIZE), targetDirectory, listener);
+      case ZIP -> extractZip(new ZipInputStream(inputStream), targetDirectory, listener);
+    };
+  }
+
+  /**
+   * Extracts the tar archive read from the given stream.
+   *
+   * @param inputStream the archive's stream.
+   * @param directory the normalized target-directory.
+   * @param listener the consumer notified after every entry is extracted.
+   * @return The amount of bytes written for all the entries.
+   * @throws IOException if the archive couldn't be read, it's not valid, or an entry couldn't be extracted.
+   * @since 4.1.0
+   */
+  private static long extractTar(
+    final @NotNull InputStream inputStream, final @NotNull Path directory,
+    final @NotNull Consumer<ArchiveEntry> listener
+  ) throws IOException {
+    final var buffer = new byte[BUFFER_SIZE];
+    final var header = new byte[TAR_BLOCK_SIZE];
+    long extracted = 0L;
+    // The name and size provided by the pax or GNU headers replace the ones of the following entry.
+    String nextName = null;
+    var nextSize = -1L;
+    while (true) {
+      final var read = inputStream.readNBytes(header, 0, TAR_BLOCK_SIZE);
+      if (read > 0 && read < TAR_BLOCK_SIZE) {
+        throw new EOFException("The tar archive is truncated.");
+      }
+      if (read == 0 || isZeroBlock(header)) {
+        // The archive ends with two zero-blocks, some writers omit them.
+        return extracted;
+      }
+      if (!hasValidChecksum(header)) {
+        throw new IOException("The tar header's checksum is not valid.");
+      }
+      final var size = (nextSize >= 0L) ? nextSize : parseSize(header);
+      final var name = (nextName != null) ? nextName : headerName(header);
+      nextName = null;
+      nextSize = -1L;
+      final var padding = (TAR_BLOCK_SIZE - (size % TAR_BLOCK_SIZE)) % TAR_BLOCK_SIZE;
+      switch (header[156]) {
+        case 'x' -> {
+          final var records = new String(readData(inputStream, size), StandardCharsets.UTF_8);
+          nextName = paxValue(records, "path");
+          final var paxSize = paxValue(records, "size");
+          if (paxSize != null) {
+            nextSize = parseLong(paxSize);
+          }
+        }
+        case 'L' -> nextName = trimNulls(new String(readData(inputStream, size), StandardCharsets.UTF_8));
+        case '5' -> {
+          createDirectory(directory, name, listener);
+          inputStream.skipNBytes(size);
+        }
+        case '0', '\0', '7' -> {
+          // The old tar writers store the directories as regular-files whose name ends with a slash.
+          if (name.endsWith("/")) {
+            createDirectory(directory, name, listener);
+            inputStream.skipNBytes(size);
+            break;
+          }
+          final var path = resolve(directory, name);
+          if (path == null) {
+            inputStream.skipNBytes(size);
+            break;
+          }
+          writeEntry(inputStream, path, size, buffer);
+          extracted += size;
+          listener.accept(new ArchiveEntry(name, path, size, false));
+        }
+        // The links, special-files and global pax headers are skipped.
+        default -> inputStream.skipNBytes(size);
+      }
+      inputStream.skipNBytes(padding);
+    }
+  }
+
+  /**
+   * Extracts the zip archive read from the given stream.
+   *
+   * @param inputStream the archive's stream.
+   * @param directory the normalized target-directory.
+   * @param listener the consumer notified after every entry is extracted.
+   * @return The amount of bytes written for all the entries.
+   * @throws IOException if the archive couldn't be read, it's not valid, or an entry couldn't be extracted.
+   * @since 4.1.0
+   */
+  private static long extractZip(
+    final @NotNull ZipInputStream inputStream, final @NotNull Path directory,
+    final @NotNull Consumer<ArchiveEntry> listener
+  ) throws IOException {
+    final var buffer = new byte[BUFFER_SIZE];
+    long extracted = 0L;
+    for (var entry = inputStream.getNextEntry(); entry != null; entry = inputStream.getNextEntry()) {
+      if (entry.isDirectory()) {
+        createDirectory(directory, entry.getName(), listener);
+        continue;
+      }
+      final var path = resolve(directory, entry.getName());
+      if (path == null) {
+        continue;
+      }
+      final var size = writeEntry(inputStream, path, -1L, buffer);
+      extracted += size;
+      listener.accept(new ArchiveEntry(entry.getName(), path, size, false));
+    }
+    return extracted;
+  }
+
+  /**
+   * Creates the directory of the given entry, unless it's the target-directory itself.
+   *
+   * @param directory the normalized target-directory.
+   * @param name the entry's name.
+   * @param listener the consumer notified after the directory is created.
+   * @throws IOException if the entry's path is not inside the target-directory, or it couldn't be created.
+   * @since 4.1.0
+   */
+  private static void createDirectory(
+    final @NotNull Path directory, final @NotNull String name, final @NotNull Consumer<ArchiveEntry> listener
+  ) throws IOException {
+    final var path = resolve(directory, name);
+    if (path == null) {
+      return;
+    }
+    Files.createDirectories(path);
+    listener.accept(new ArchiveEntry(name, path, 0L, true));
+  }
+
+  /**
+   * Writes the entry's data into the given path, replacing any existing file.
+   * <br>
+   * The existing file is deleted instead of truncated, so the files hard-linked to it are not modified.
+   *
+   * @param inputStream the archive's stream.
+   * @param path the entry's path.
+   * @param size the entry's size, or {@code -1} to write until the stream's end.
+   * @param buffer the buffer to use.
+   * @return The amount of written bytes.
+   * @throws IOException if the entry couldn't be read or written.
+   * @since 4.1.0
+   */
+  private static long writeEntry(
+    final @NotNull InputStream inputStream, final @NotNull Path path, final long size, final byte @NotNull [] buffer
+  ) throws IOException {
+    Files.createDirectories(path.getParent());
+    Files.deleteIfExists(path);
+    long written = 0L;
+    try (final var outputStream = Files.newOutputStream(path, StandardOpenOption.CREATE_NEW)) {
+      while (size < 0L || written < size) {
+        final var length = (size < 0L) ? buffer.length : (int) Math.min(buffer.length, size - written);
+        final var read = inputStream.read(buffer, 0, length);
+        if (read < 0) {
+          if (size < 0L) {
+            break;
+          }
+          throw new EOFException("The archive's entry is truncated.");
+        }
+        outputStream.write(buffer, 0, read);
+        written += read;
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Resolves the entry's path inside the target-directory.
+   *
+   * @param directory the normalized target-directory.
+   * @param name the entry's name.
+   * @return The entry's path, or {@code null} if the entry is the target-directory itself, such as the {@code ./}
+   *     root-entry.
+   * @throws IOException if the entry's path is not inside the target-directory.
+   * @since 4.1.0
+   */
+  private static @Nullable Path resolve(final @NotNull Path directory, final @NotNull String name) throws IOException {
+    final Path path;
+    try {
+      path = directory.resolve(name).normalize();
+    } catch (final InvalidPathException exception) {
+      throw new IOException("The archive's entry has an invalid name: " + name, exception);
+    }
+    // The absolute names and the names with parent-references could write outside the target-directory.
+    if (!path.startsWith(directory)) {
+      throw new IOException("The archive's entry is outside the target-directory: " + name);
+    }
+    return path.equals(directory) ? null : path;
+  }
+
+  /**
+   * Reads the data of a tar's extension-header.
+   *
+   * @param inputStream the archive's stream.
+   * @param size the data's size.
+   * @return The data.
+   * @throws IOException if the data couldn't be read, or it's too large.
+   * @since 4.1.0
+   */
+  private static byte @NotNull [] readData(final @NotNull InputStream inputStream, final long size)
+    throws IOException {
+    if (size > BUFFER_SIZE) {
+      throw new IOException("The tar's extension-header is too large.");
+    }
+    final var data = inputStream.readNBytes((int) size);
+    if (data.length < size) {
+      throw new EOFException("The tar archive is truncated.");
+    }
+    return data;
+  }
+
+  /**
+   * Returns the entry's name provided by the tar's header, including the ustar prefix.
+   *
+   * @param header the tar's header.
+   * @return The entry's name.
+   * @since 4.1.0
+   */
+  private static @NotNull String headerName(final byte @NotNull [] header) {
+    final var name = field(header, 0, 100);
+    if (!field(header, 257, 5).equals("ustar")) {
+      return name;
+    }
+    final var prefix = field(header, 345, 155);
+    return prefix.isEmpty() ? name : prefix + '/' + name;
+  }
+
+  /**
+   * Returns the entry's size provided by the tar's header, in octal or base-256 format.
+   *
+   * @param header the tar's header.
+   * @return The entry's size.
+   * @throws IOException if the size is not valid.
+   * @since 4.1.0
+   */
+  private static long parseSize(final byte @NotNull [] header) throws IOException {
+    if ((header[124] & 0x80) != 0) {
+      // The large sizes are stored as a big-endian number after the marker-byte.
+      long size = 0L;
+      for (var i = 125; i < 136; i++) {
+        size = (size << 8) | (header[i] & 0xFF);
+      }
+      return size;
+    }
+    return parseOctal(header, 124, 12);
+  }
+
+  /**
+   * Returns whether the checksum stored in the tar's header matches its content.
+   *
+   * @param header the tar's header.
+   * @return {@code true} if the checksum is valid, {@code false} otherwise.
+   * @throws IOException if the stored checksum is not valid.
+   * @since 4.1.0
+   */
+  private static boolean hasValidChecksum(final byte @NotNull [] header) throws IOException {
+    long checksum = 0L;
+    for (var i = 0; i < TAR_BLOCK_SIZE; i++) {
+      // The checksum's field is computed as spaces.
+      checksum += (i >= 148 && i < 156) ? ' ' : (header[i] & 0xFF);
+    }
+    return checksum == parseOctal(header, 148, 8);
+  }
+
+  /**
+   * Parses the octal number stored in the given tar's header field.
+   *
+   * @param header the tar's header.
+   * @param offset the field's offset.
+   * @param length the field's length.
+   * @return The number.
+   * @throws IOException if the number is not valid.
+   * @since 4.1.0
+   */
+  private static long parseOctal(final byte @NotNull [] header, final int offset, final int length)
+    throws IOException {
+    final var value = field(header, offset, length).trim();
+    if (value.isEmpty()) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(value, 8);
+    } catch (final NumberFormatException exception) {
+      throw new IOException("The tar header's number is not valid: " + value, exception);
+    }
+  }
+
+  /**
+   * Parses the given decimal number provided by a pax header.
+   *
+   * @param value the number.
+   * @return The number.
+   * @throws IOException if the number is not valid.
+   * @since 4.1.0
+   */
+  private static long parseLong(final @NotNull String value) throws IOException {
+    try {
+      return Long.parseLong(value);
+    } catch (final NumberFormatException exception) {
+      throw new IOException("The pax header's number is not valid: " + value, exception);
+    }
+  }
+
+  /**
+   * Returns the value of the given key from the pax header's records, which are formatted as
+   * {@code "<length> <key>=<value>\n"}.
+   *
+   * @param records the pax header's records.
+   * @param key the record's key.
+   * @return The record's value, or {@code null} if there's no record for the key.
+   * @since 4.1.0
+   */
+  private static @Nullable String paxValue(final @NotNull String records, final @NotNull String key) {
+    String value = null;
+    for (final var record : records.split("\n")) {
+      final var separator = record.indexOf(' ');
+      if (separator > 0 && record.startsWith(key + '=', separator + 1)) {
+        // The last record for the same key wins.
+        value = record.substring(separator + key.length() + 2);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns the null-terminated string stored in the given tar's header field.
+   *
+   * @param header the tar's header.
+   * @param offset the field's offset.
+   * @param length the field's length.
+   * @return The field's string.
+   * @since 4.1.0
+   */
+  private static @NotNull String field(final byte @NotNull [] header, final int offset, final int length) {
+    var end = offset;
+    while (end < offset + length && header[end] != 0) {
+      end++;
+    }
+    return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Removes the trailing null-characters of the given string.
+   *
+   * @param value the string.
+   * @return The string without trailing null-characters.
+   * @since 4.1.0
+   */
+  private static @NotNull String trimNulls(final @NotNull String value) {
+    var end = value.length();
+    while (end > 0 && value.charAt(end - 1) == '\0') {
+      end--;
+    }
+    return value.substring(0, end);
+  }
+
+  /**
+   * Returns whether the given block only contains zeros.
+   *
+   * @param block the block.
+   * @return {@code true} if the block only contains zeros, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean isZeroBlock(final byte @NotNull [] block) {
+    for (final var value : block) {
+      if (value != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
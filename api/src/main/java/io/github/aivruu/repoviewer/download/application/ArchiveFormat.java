@@ -0,0 +1,60 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Represents the archive-formats that can be extracted while they're downloaded.
+ *
+ * @since 4.1.0
+ */
+public enum ArchiveFormat {
+  /** An uncompressed tar archive. */
+  TAR,
+  /** A gzip-compressed tar archive. */
+  TAR_GZ,
+  /**
+   * A zip archive, its entries are read from their local headers, so the stored (uncompressed) entries whose size is
+   * only provided after their data can't be extracted.
+   */
+  ZIP;
+
+  /**
+   * Returns the archive-format for the given file-name or url, based on its extension.
+   *
+   * @param name the file-name or url.
+   * @return The {@link ArchiveFormat}, or {@code null} if the extension is not supported.
+   * @since 4.1.0
+   */
+  public static @Nullable ArchiveFormat fromName(final @NotNull String name) {
+    final var lowerCaseName = name.toLowerCase(Locale.ROOT);
+    if (lowerCaseName.endsWith(".tar")) {
+      return TAR;
+    }
+    if (lowerCaseName.endsWith(".tar.gz") || lowerCaseName.endsWith(".tgz")) {
+      return TAR_GZ;
+    }
+    if (lowerCaseName.endsWith(".zip")) {
+      return ZIP;
+    }
+    return null;
+  }
+}
@@ -17,25 +17,44 @@
 package io.github.aivruu.repoviewer.download.application;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Provides response-status based-on status-codes provided and returns a result for it.
  *
  * @param status the status-code.
  * @param result the response's result.
+ * @param digest the downloaded file's checksum as an hexadecimal string, or {@code null} if it wasn't computed.
  * @since 4.0.0
  */
-public record DownloadOperationStatus(byte status, long result) {
+public record DownloadOperationStatus(byte status, long result, @Nullable String digest) {
   /** The asset was downloaded correctly. */
   public static final byte ASSET_DOWNLOADED_SUCCESSFULLY = 0;
   /** The asset wasn't downloaded because of non-existing. */
   public static final byte UNKNOWN_ASSET_TO_DOWNLOAD = 1;
   /** The asset wasn't downloaded due to an error. */
   public static final byte ASSET_DOWNLOAD_ERROR = 2;
+  /** The asset was downloaded, but its checksum didn't match the expected one, so it was deleted. */
+  public static final byte ASSET_CHECKSUM_MISMATCH = 3;
+  /** The asset wasn't downloaded because the existing file is already up to date. */
+  public static final byte ASSET_UP_TO_DATE = 4;
   /** Default-size for non-existing assets. */
   public static final long UNKNOWN_ASSET_DEFAULT_SIZE = -ASSET_DOWNLOAD_ERROR;
   /** Default-size for non-downloaded assets. */
   public static final long INVALID_ASSET_DEFAULT_SIZE = -UNKNOWN_ASSET_TO_DOWNLOAD;
+  /** Default-size for deleted assets whose checksum didn't match. */
+  public static final long MISMATCHED_ASSET_DEFAULT_SIZE = -ASSET_CHECKSUM_MISMATCH;
+
+  /**
+   * Creates a new {@link DownloadOperationStatus} without checksum.
+   *
+   * @param status the status-code.
+   * @param result the response's result.
+   * @since 4.0.0
+   */
+  public DownloadOperationStatus(final byte status, final long result) {
+    this(status, result, null);
+  }
 
   /**
    * Creates a new {@link DownloadOperationStatus} with the {@link #ASSET_DOWNLOADED_SUCCESSFULLY} code and the
@@ -49,6 +68,19 @@ public record DownloadOperationStatus(byte status, long result) {
     return new DownloadOperationStatus(ASSET_DOWNLOADED_SUCCESSFULLY, result);
   }
 
+  /**
+   * Creates a new {@link DownloadOperationStatus} with the {@link #ASSET_DOWNLOADED_SUCCESSFULLY} code, the given
+   * result and the file's checksum.
+   *
+   * @param result the result for this response type.
+   * @param digest the file's checksum as an hexadecimal string, or {@code null} if it wasn't computed.
+   * @return A {@link DownloadOperationStatus}.
+   * @since 4.1.0
+   */
+  public static @NotNull DownloadOperationStatus downloaded(final long result, final @Nullable String digest) {
+    return new DownloadOperationStatus(ASSET_DOWNLOADED_SUCCESSFULLY, result, digest);
+  }
+
   /**
    * Creates a new {@link DownloadOperationStatus} with the {@link #UNKNOWN_ASSET_TO_DOWNLOAD} code.
    *
@@ -69,6 +101,31 @@ public record DownloadOperationStatus(byte status, long result) {
     return new DownloadOperationStatus(ASSET_DOWNLOAD_ERROR, INVALID_ASSET_DEFAULT_SIZE);
   }
 
+  /**
+   * Creates a new {@link DownloadOperationStatus} with the {@link #ASSET_UP_TO_DATE} code, the existing file's size
+   * and checksum.
+   *
+   * @param result the existing file's size.
+   * @param digest the file's checksum as an hexadecimal string, or {@code null} if it wasn't requested.
+   * @return A {@link DownloadOperationStatus}.
+   * @since 4.1.0
+   */
+  public static @NotNull DownloadOperationStatus upToDate(final long result, final @Nullable String digest) {
+    return new DownloadOperationStatus(ASSET_UP_TO_DATE, result, digest);
+  }
+
+  /**
+   * Creates a new {@link DownloadOperationStatus} with the {@link #ASSET_CHECKSUM_MISMATCH} code and the file's
+   * computed checksum.
+   *
+   * @param digest the file's computed checksum as an hexadecimal string.
+   * @return A {@link DownloadOperationStatus}.
+   * @since 4.1.0
+   */
+  public static @NotNull DownloadOperationStatus mismatch(final @NotNull String digest) {
+    return new DownloadOperationStatus(ASSET_CHECKSUM_MISMATCH, MISMATCHED_ASSET_DEFAULT_SIZE, digest);
+  }
+
   /**
    * Returns whether the status-code was {@link #ASSET_DOWNLOADED_SUCCESSFULLY}.
    *
@@ -98,4 +155,24 @@ public record DownloadOperationStatus(byte status, long result) {
   public boolean wasError() {
     return this.status == ASSET_DOWNLOAD_ERROR;
   }
+
+  /**
+   * Returns whether the status-code was {@link #ASSET_CHECKSUM_MISMATCH}.
+   *
+   * @return {@code true} if the code was {@link #ASSET_CHECKSUM_MISMATCH}, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean wasMismatch() {
+    return this.status == ASSET_CHECKSUM_MISMATCH;
+  }
+
+  /**
+   * Returns whether the status-code was {@link #ASSET_UP_TO_DATE}.
+   *
+   * @return {@code true} if the code was {@link #ASSET_UP_TO_DATE}, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean wasUpToDate() {
+    return this.status == ASSET_UP_TO_DATE;
+  }
 }
@@ -0,0 +1,144 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import io.github.aivruu.repoviewer.cache.application.AssetCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Holds the optional settings used by the {@link DownloaderService} during a download.
+ *
+ * @param segments the maximum amount of ranges downloaded concurrently, {@code 1} to use a single stream.
+ * @param resumable whether an interrupted download is resumed from its partial-file on the next attempt, resumable
+ *                  downloads always use a single stream.
+ * @param digestAlgorithm the {@link MessageDigest}'s algorithm used to compute the file's checksum while it's
+ *                        downloaded, such as {@code SHA-256} or {@code SHA-512}, or {@code null} to skip it.
+ * @param expectedDigest the file's expected checksum as an hexadecimal string, or {@code null} to skip the
+ *                       verification. The file is deleted if its checksum doesn't match.
+ * @param cache the {@link AssetCache} consulted before downloading the file, and which stores it once downloaded, or
+ *              {@code null} to download it always.
+ * @param sync whether an existing file is kept if it didn't change since it was downloaded, which is checked using a
+ *             conditional-request with the validators stored next to it.
+ * @since 4.1.0
+ */
+public record DownloadOptions(
+  int segments, boolean resumable, @Nullable String digestAlgorithm, @Nullable String expectedDigest,
+  @Nullable AssetCache cache, boolean sync
+) {
+  /** A {@link DownloadOptions} object that downloads the files using a single stream. */
+  public static final DownloadOptions DEFAULT = new DownloadOptions(1, false, null, null, null, false);
+
+  /**
+   * Creates a new {@link DownloadOptions} with the given parameters.
+   *
+   * @throws IllegalArgumentException if the segments amount is not positive, if the digest's algorithm is not
+   * available, or if an expected digest is given without its algorithm.
+   * @since 4.1.0
+   */
+  public DownloadOptions {
+    if (segments < 1) {
+      throw new IllegalArgumentException("The segments amount must be positive.");
+    }
+    if (expectedDigest != null && digestAlgorithm == null) {
+      throw new IllegalArgumentException("The expected digest requires its algorithm.");
+    }
+    if (digestAlgorithm != null) {
+      try {
+        MessageDigest.getInstance(digestAlgorithm);
+      } catch (final NoSuchAlgorithmException exception) {
+        throw new IllegalArgumentException("The digest's algorithm is not available: " + digestAlgorithm, exception);
+      }
+    }
+  }
+
+  /**
+   * Returns a copy of these options with the given segments amount.
+   *
+   * @param segments the maximum amount of ranges downloaded concurrently.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withSegments(final int segments) {
+    return new DownloadOptions(segments, this.resumable, this.digestAlgorithm, this.expectedDigest, this.cache,
+      this.sync);
+  }
+
+  /**
+   * Returns a copy of these options with the given resumable-state.
+   *
+   * @param resumable whether an interrupted download is resumed on the next attempt.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withResumable(final boolean resumable) {
+    return new DownloadOptions(this.segments, resumable, this.digestAlgorithm, this.expectedDigest, this.cache,
+      this.sync);
+  }
+
+  /**
+   * Returns a copy of these options that computes the file's checksum with the given algorithm.
+   *
+   * @param digestAlgorithm the digest's algorithm, such as {@code SHA-256}.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withDigest(final @NotNull String digestAlgorithm) {
+    return new DownloadOptions(this.segments, this.resumable, digestAlgorithm, null, this.cache, this.sync);
+  }
+
+  /**
+   * Returns a copy of these options that verifies the file's checksum against the expected one.
+   *
+   * @param digestAlgorithm the digest's algorithm, such as {@code SHA-256}.
+   * @param expectedDigest the file's expected checksum as an hexadecimal string.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withExpectedDigest(
+    final @NotNull String digestAlgorithm, final @NotNull String expectedDigest
+  ) {
+    return new DownloadOptions(this.segments, this.resumable, digestAlgorithm, expectedDigest, this.cache, this.sync);
+  }
+
+  /**
+   * Returns a copy of these options that uses the given assets-cache.
+   *
+   * @param cache the {@link AssetCache} to use, or {@code null} to download the files always.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withCache(final @Nullable AssetCache cache) {
+    return new DownloadOptions(this.segments, this.resumable, this.digestAlgorithm, this.expectedDigest, cache,
+      this.sync);
+  }
+
+  /**
+   * Returns a copy of these options with the given sync-state.
+   *
+   * @param sync whether an existing file is kept if it didn't change since it was downloaded.
+   * @return A new {@link DownloadOptions}.
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOptions withSync(final boolean sync) {
+    return new DownloadOptions(this.segments, this.resumable, this.digestAlgorithm, this.expectedDigest, this.cache,
+      sync);
+  }
+}
@@ -16,41 +16,99 @@
 //
 package io.github.aivruu.repoviewer.download.application;
 
+import io.github.aivruu.repoviewer.cache.application.AssetCache;
 import io.github.aivruu.repoviewer.executor.application.ExecutorHelper;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.nio.channels.Channels;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * This service-class provides functionality to download files since URLs.
+ * <br>
+ * The files are downloaded using a {@link HttpClient} that follows the redirections, such as the ones made by the
+ * releases' assets to their storage, and are written asynchronously while received, so no thread is blocked during
+ * the download.
  *
  * @since 4.0.0
  */
 public final class DownloaderService {
   /** Default file-size for a non-completed download. */
   public static final long FILE_DOWNLOAD_ERROR_DEFAULT_SIZE = -1;
+  /** The minimum size of every range downloaded concurrently, smaller files use less ranges. */
+  private static final long MINIMUM_SEGMENT_SIZE = 1024 * 1024;
+  /** The minimum size of the files downloaded using concurrent ranges, smaller files use a single stream. */
+  public static final long MINIMUM_SEGMENTED_DOWNLOAD_SIZE = 2 * MINIMUM_SEGMENT_SIZE;
+  /** The extension added to the files of the incomplete resumable-downloads. */
+  private static final String PARTIAL_FILE_EXTENSION = ".part";
+  /** The extension added to the files that describe the incomplete resumable-downloads. */
+  private static final String METADATA_FILE_EXTENSION = ".part.properties";
+  /** The extension added to the files that describe the downloaded files, which are checked by the sync-mode. */
+  private static final String SYNC_METADATA_FILE_EXTENSION = ".sync.properties";
+  /** The default connection's timeout (in seconds) of the default client. */
+  private static final byte DEFAULT_CONNECT_TIMEOUT_IN_SECONDS = 10;
+  /** The size of the buffer used to read the files whose checksum is computed after they're written. */
+  private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
   private static DownloaderService instance;
+  private final HttpClient client;
 
-  private DownloaderService() {}
+  private DownloaderService(final @NotNull HttpClient client) {
+    this.client = client;
+  }
 
   /**
    * Returns the {@link DownloaderService}'s instance, it will be created if necessary.
+   * <br>
+   * This instance uses a client that follows the redirections, and uses the thread-pool provided by
+   * {@link ExecutorHelper#get()}, which must be initialized priorly.
    *
    * @return The {@link DownloaderService} instance.
    * @since 4.0.0
    */
   public static @NotNull DownloaderService get() {
     if (instance == null) {
-       instance = new DownloaderService();
+       instance = new DownloaderService(HttpClient.newBuilder()
+         .executor(ExecutorHelper.get())
+         .followRedirects(HttpClient.Redirect.NORMAL)
+         .connectTimeout(Duration.ofSeconds(DEFAULT_CONNECT_TIMEOUT_IN_SECONDS))
+         .build());
     }
     return instance;
   }
 
+  /**
+   * Creates a new {@link DownloaderService} which uses the given client, so its timeouts, protocol-version or
+   * proxy can be configured. The client should follow the redirections.
+   *
+   * @param client the {@link HttpClient} to use.
+   * @return A new {@link DownloaderService}.
+   * @since 4.1.0
+   */
+  public static @NotNull DownloaderService create(final @NotNull HttpClient client) {
+    return new DownloaderService(client);
+  }
+
   /**
    * Downloads the requested file from the given URL, gave it the provided name and saves it to the given
    * directory.
@@ -73,18 +131,899 @@ public final class DownloaderService {
    *
    * @param file the file's destination.
    * @param url the url for download.
-   * @return A {@link CompletableFuture} with the file's read bytes-amount.
+   * @return A {@link CompletableFuture} with the file's read bytes-amount, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE}
+   * if the download failed.
    * @since 4.0.0
    */
   public @NotNull CompletableFuture<@NotNull Long> toDirectory(final @NotNull File file, final @NotNull String url) {
-    return CompletableFuture.supplyAsync(() -> {
-      try (final var readableByteChannel = Channels.newChannel(URI.create(url).toURL().openStream());
-           final var fileOutputStream = new FileOutputStream(file)
-      ) {
-        return fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
+    return this.streamDownload(file, url, null);
+  }
+
+  /**
+   * Downloads the requested file from the given URL using the provided options, and saves it to the given file.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param options the {@link DownloadOptions} to use.
+   * @return A {@link CompletableFuture} with the file's read bytes-amount, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE}
+   * if the download failed or its checksum didn't match.
+   * @see #download(File, String, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull Long> toDirectory(
+    final @NotNull File file, final @NotNull String url, final @NotNull DownloadOptions options
+  ) {
+    return this.download(file, url, options)
+      .thenApply(status -> (status.wasDownloaded() || status.wasUpToDate())
+        ? status.result() : FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+  }
+
+  /**
+   * Downloads the requested file from the given URL using the provided options, and saves it to the given file.
+   * <br>
+   * If more than one segment is requested, the file's size and ranges support are checked first, and the file is
+   * split into ranges that are downloaded concurrently and written at their positions. The file is downloaded using a
+   * single stream if the server doesn't support ranges, or doesn't provide the file's size.
+   * <br>
+   * If the download is resumable, it's written to a partial-file next to the destination, and described by a
+   * metadata-file with the url, the file's validator and size. If it's interrupted, the next attempt only requests the
+   * remaining bytes if the file didn't change, otherwise it starts again.
+   * <br>
+   * If a digest's algorithm is given, the file's checksum is computed while its bytes are written, and if an expected
+   * digest is given too, the file is deleted when they don't match. The ranges of a segmented-download are received
+   * out of order, so its checksum is computed once all of them are written, as well as the bytes of a partial-file
+   * written by a previous attempt.
+   * <br>
+   * If an {@link AssetCache} is given, it's consulted first, and the file is only downloaded if the cache doesn't
+   * store it with the same validator and size.
+   * <br>
+   * In sync-mode, the validators of every downloaded file are stored next to it, and if the file exists with the
+   * same size the next time, it's requested using a single conditional-request, which only transfers its bytes if
+   * it changed.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param options the {@link DownloadOptions} to use.
+   * @return A {@link CompletableFuture} with a {@link DownloadOperationStatus} which can be:
+   * <ul>
+   * <li>{@link DownloadOperationStatus#error()} if the download failed.</li>
+   * <li>{@link DownloadOperationStatus#mismatch(String)} if the checksum didn't match, the file is deleted.</li>
+   * <li>{@link DownloadOperationStatus#upToDate(long, String)} if the existing file didn't change, result is the
+   * file's size.</li>
+   * <li>{@link DownloadOperationStatus#downloaded(long, String)} if the file was downloaded, result are the read
+   * bytes-amount, and the digest is the file's checksum if it was requested.</li>
+   * </ul>
+   * @see #syncDownload(File, String, DownloadOptions)
+   * @see #cachedDownload(File, String, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadOperationStatus> download(
+    final @NotNull File file, final @NotNull String url, final @NotNull DownloadOptions options
+  ) {
+    if (!isValidUrl(url)) {
+      return CompletableFuture.completedFuture(DownloadOperationStatus.error());
+    }
+    if (options.sync()) {
+      return this.syncDownload(file, url, options);
+    }
+    if (options.cache() != null) {
+      return this.cachedDownload(file, url, options);
+    }
+    final var digest = (options.digestAlgorithm() == null) ? null : createDigest(options.digestAlgorithm());
+    final CompletableFuture<Long> download;
+    if (options.resumable()) {
+      download = this.resumableDownload(file, url, digest);
+    } else if (options.segments() < 2) {
+      download = this.streamDownload(file, url, digest);
+    } else {
+      download = this.probedDownload(file, url, options.segments(), digest);
+    }
+    return download.thenApply(readBytesAmount -> downloadStatus(file, readBytesAmount, digest,
+      options.expectedDigest()));
+  }
+
+  /**
+   * Creates the status for a finished download, verifying its checksum against the expected one.
+   *
+   * @param file the downloaded file.
+   * @param readBytesAmount the file's read bytes-amount, or a negative number if the download failed.
+   * @param digest the digest updated with the file's bytes, or {@code null} if no checksum is requested.
+   * @param expectedDigest the expected checksum, or {@code null} to skip the verification.
+   * @return A {@link DownloadOperationStatus}, if the checksum didn't match the file is deleted.
+   * @since 4.1.0
+   */
+  private static @NotNull DownloadOperationStatus downloadStatus(
+    final @NotNull File file, final long readBytesAmount, final @Nullable MessageDigest digest,
+    final @Nullable String expectedDigest
+  ) {
+    if (readBytesAmount < 0L) {
+      return DownloadOperationStatus.error();
+    }
+    if (digest == null) {
+      return DownloadOperationStatus.downloaded(readBytesAmount);
+    }
+    final var checksum = HexFormat.of().formatHex(digest.digest());
+    if (expectedDigest != null && !expectedDigest.equalsIgnoreCase(checksum)) {
+      file.delete();
+      return DownloadOperationStatus.mismatch(checksum);
+    }
+    return DownloadOperationStatus.downloaded(readBytesAmount, checksum);
+  }
+
+  /**
+   * Downloads the archive from the given URL and extracts it into the directory while it's received, so the archive
+   * is never written to the disk.
+   * <br>
+   * Every entry must be extracted inside the directory, otherwise the extraction fails, and the entries extracted
+   * until then are kept. Only the directories and regular-files are extracted.
+   *
+   * @param url the archive's url.
+   * @param directory the target-directory, it's created if it doesn't exist.
+   * @param format the archive's {@link ArchiveFormat}.
+   * @param listener the consumer notified after every entry is extracted.
+   * @return A {@link CompletableFuture} with a {@link DownloadOperationStatus} which can be:
+   * <ul>
+   * <li>{@link DownloadOperationStatus#error()} if the archive couldn't be downloaded or extracted.</li>
+   * <li>{@link DownloadOperationStatus#downloaded(long)} if the archive was extracted, result are the extracted
+   * bytes-amount.</li>
+   * </ul>
+   * @see ArchiveFormat#fromName(String)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadOperationStatus> extract(
+    final @NotNull String url, final @NotNull File directory, final @NotNull ArchiveFormat format,
+    final @NotNull Consumer<ArchiveEntry> listener
+  ) {
+    if (!isValidUrl(url)) {
+      return CompletableFuture.completedFuture(DownloadOperationStatus.error());
+    }
+    final var request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+    // The archive is read by a blocking stream, so it's extracted on the thread-pool.
+    return this.client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).thenApplyAsync(response -> {
+      try (final var inputStream = response.body()) {
+        if (response.statusCode() != 200) {
+          return DownloadOperationStatus.error();
+        }
+        return DownloadOperationStatus.downloaded(
+          ArchiveExtractor.extract(inputStream, format, directory.toPath(), listener));
+      } catch (final IOException exception) {
+        return DownloadOperationStatus.error();
+      }
+    }, this.blockingExecutor()).exceptionally(exception -> DownloadOperationStatus.error());
+  }
+
+  /**
+   * Returns whether the given url can be used to build a request, so a malformed url fails the download instead of
+   * throwing to the caller.
+   *
+   * @param url the url to check.
+   * @return {@code true} if the url is valid, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean isValidUrl(final @NotNull String url) {
+    try {
+      HttpRequest.newBuilder(URI.create(url));
+      return true;
+    } catch (final IllegalArgumentException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the executor used to run the blocking file-system operations, so they never run on the threads that
+   * complete the client's responses.
+   *
+   * @return The client's executor, or the thread-pool provided by {@link ExecutorHelper#get()} if it has none.
+   * @since 4.1.0
+   */
+  private @NotNull Executor blockingExecutor() {
+    return this.client.executor().orElseGet(ExecutorHelper::get);
+  }
+
+  /**
+   * Checks whether the existing file changed since it was downloaded, and downloads it again only if it changed.
+   * <br>
+   * A single conditional-request is sent with the validators stored in the file's metadata, if the file exists with
+   * the size stored there. The file is considered up to date if the server answers with {@code 304 Not Modified}, or
+   * with the same validator. Otherwise, the response's body is written into the file using a single stream, so the
+   * segments and resumable options are not used, and the file's validators are stored again from that response. If
+   * an {@link AssetCache} is given, the downloaded file is stored into it, but it's not consulted before.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param options the {@link DownloadOptions} to use.
+   * @return A {@link CompletableFuture} with a {@link DownloadOperationStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull DownloadOperationStatus> syncDownload(
+    final @NotNull File file, final @NotNull String url, final @NotNull DownloadOptions options
+  ) {
+    final var metadataFile = new File(file.getPath() + SYNC_METADATA_FILE_EXTENSION);
+    final var metadata = readMetadata(metadataFile);
+    final var synced = metadata != null && url.equals(metadata.getProperty("url")) && file.isFile()
+      && file.length() == Long.parseLong(metadata.getProperty("length"));
+    final var existingLength = synced ? file.length() : -1L;
+    final var requestBuilder = HttpRequest.newBuilder(URI.create(url)).GET();
+    if (synced) {
+      final var validator = metadata.getProperty("validator");
+      requestBuilder.header(isEntityTag(validator) ? "If-None-Match" : "If-Modified-Since", validator);
+    }
+    final var cache = options.cache();
+    // The cache stores the files by their SHA-256 checksum, which is computed if no other is requested.
+    final var digestAlgorithm = (options.digestAlgorithm() == null && cache != null)
+      ? AssetCache.DIGEST_ALGORITHM : options.digestAlgorithm();
+    final var digest = (digestAlgorithm == null) ? null : createDigest(digestAlgorithm);
+    return this.client.sendAsync(requestBuilder.build(), responseInfo -> {
+      if (synced && isUpToDate(responseInfo.statusCode(), metadata, responseInfo.headers(), existingLength)) {
+        return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+      }
+      if (responseInfo.statusCode() != 200) {
+        return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+      }
+      return new FileBodySubscriber(openChannel(file, true), 0L, Long.MAX_VALUE, true, digest);
+    }).thenComposeAsync(response -> {
+      if (synced && isUpToDate(response.statusCode(), metadata, response.headers(), existingLength)) {
+        final var status = verifyUpToDate(file, options, metadata);
+        if (status != null) {
+          return CompletableFuture.completedFuture(status);
+        }
+        // The existing file doesn't have the expected checksum, so it's downloaded again without validators.
+        metadataFile.delete();
+        return this.syncDownload(file, url, options);
+      }
+      final var status = downloadStatus(file, response.body(), digest, options.expectedDigest());
+      if (!status.wasDownloaded()) {
+        metadataFile.delete();
+        return CompletableFuture.completedFuture(status);
+      }
+      writeSyncMetadata(metadataFile, url, response.headers(), status, digestAlgorithm);
+      if (cache != null) {
+        storeCached(cache, url, cacheValidator(response.headers()),
+          response.headers().firstValueAsLong("Content-Length").orElse(-1L), file, status, digestAlgorithm);
+      }
+      return CompletableFuture.completedFuture(status);
+    }, this.blockingExecutor()).exceptionally(exception -> DownloadOperationStatus.error());
+  }
+
+  /**
+   * Checks whether the response to a sync-mode's conditional-request indicates that the file didn't change.
+   *
+   * @param statusCode the response's status-code.
+   * @param metadata the file's metadata.
+   * @param headers the response's headers.
+   * @param length the existing file's size.
+   * @return {@code true} if the file didn't change, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean isUpToDate(
+    final int statusCode, final @NotNull Properties metadata, final @NotNull HttpHeaders headers, final long length
+  ) {
+    return statusCode == 304 || (statusCode == 200 && isUnchanged(metadata, headers, length));
+  }
+
+  /**
+   * Checks whether the validators provided by a response that ignored the conditional-request are the stored ones.
+   *
+   * @param metadata the file's metadata.
+   * @param headers the response's headers.
+   * @param length the existing file's size.
+   * @return {@code true} if the file didn't change, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean isUnchanged(
+    final @NotNull Properties metadata, final @NotNull HttpHeaders headers, final long length
+  ) {
+    final var validator = metadata.getProperty("validator");
+    final var currentValidator = headers.firstValue(isEntityTag(validator) ? "ETag" : "Last-Modified").orElse(null);
+    final var currentLength = headers.firstValueAsLong("Content-Length").orElse(length);
+    return validator.equals(currentValidator) && currentLength == length;
+  }
+
+  /**
+   * Creates the status for an up to date file, verifying its checksum if it's requested by the options.
+   *
+   * @param file the existing file.
+   * @param options the {@link DownloadOptions} to use.
+   * @param metadata the file's metadata.
+   * @return The {@link DownloadOperationStatus#upToDate(long, String)} status, or {@code null} if the file's checksum
+   * is not the expected one and it must be downloaded again.
+   * @since 4.1.0
+   */
+  private static @Nullable DownloadOperationStatus verifyUpToDate(
+    final @NotNull File file, final @NotNull DownloadOptions options, final @NotNull Properties metadata
+  ) {
+    final var algorithm = options.digestAlgorithm();
+    if (algorithm == null) {
+      return DownloadOperationStatus.upToDate(file.length(), null);
+    }
+    // The checksum is only computed again if it was stored for other algorithm.
+    final var checksum = algorithm.equalsIgnoreCase(metadata.getProperty("digestAlgorithm"))
+      ? metadata.getProperty("digest") : checksum(file, algorithm);
+    if (checksum == null || (options.expectedDigest() != null && !options.expectedDigest().equalsIgnoreCase(checksum))) {
+      return null;
+    }
+    return DownloadOperationStatus.upToDate(file.length(), checksum);
+  }
+
+  /**
+   * Writes the metadata of a downloaded file, or deletes it if the response doesn't provide any validator.
+   *
+   * @param metadataFile the file's metadata-file.
+   * @param url the url for download.
+   * @param headers the headers of the response that provided the file.
+   * @param status the download's {@link DownloadOperationStatus}.
+   * @param digestAlgorithm the algorithm of the status' checksum, or {@code null} if it wasn't computed.
+   * @since 4.1.0
+   */
+  private static void writeSyncMetadata(
+    final @NotNull File metadataFile, final @NotNull String url, final @NotNull HttpHeaders headers,
+    final @NotNull DownloadOperationStatus status, final @Nullable String digestAlgorithm
+  ) {
+    final var validator = headers.firstValue("ETag")
+      .or(() -> headers.firstValue("Last-Modified"))
+      .orElse(null);
+    if (validator == null) {
+      metadataFile.delete();
+      return;
+    }
+    final var metadata = new Properties();
+    metadata.setProperty("url", url);
+    metadata.setProperty("validator", validator);
+    metadata.setProperty("length", Long.toString(status.result()));
+    if (status.digest() != null && digestAlgorithm != null) {
+      metadata.setProperty("digestAlgorithm", digestAlgorithm);
+      metadata.setProperty("digest", status.digest());
+    }
+    try (final var outputStream = Files.newOutputStream(metadataFile.toPath())) {
+      metadata.store(outputStream, null);
+    } catch (final IOException exception) {
+      // The file is downloaded again the next time.
+      metadataFile.delete();
+    }
+  }
+
+  /**
+   * Returns whether the given validator is an entity-tag, otherwise it's a modification date.
+   *
+   * @param validator the validator.
+   * @return {@code true} if the validator is an entity-tag, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private static boolean isEntityTag(final @NotNull String validator) {
+    return validator.startsWith("\"") || validator.startsWith("W/");
+  }
+
+  /**
+   * Materializes the file from the options' {@link AssetCache} if it's stored with the same validator and size
+   * currently provided by the url, otherwise downloads it and stores it into the cache.
+   * <br>
+   * The file's validator ({@code ETag}) and size are checked first, and if the url doesn't provide any of them,
+   * the file is downloaded without using the cache. The cache's operations and the checksums block on the
+   * file-system, so they run on the thread-pool.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param options the {@link DownloadOptions} to use, which provide the cache.
+   * @return A {@link CompletableFuture} with a {@link DownloadOperationStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull DownloadOperationStatus> cachedDownload(
+    final @NotNull File file, final @NotNull String url, final @NotNull DownloadOptions options
+  ) {
+    final var cache = options.cache();
+    final var uncachedOptions = options.withCache(null);
+    final var probeRequest = HttpRequest.newBuilder(URI.create(url))
+      .method("HEAD", HttpRequest.BodyPublishers.noBody())
+      .build();
+    final var executor = this.blockingExecutor();
+    return this.client.sendAsync(probeRequest, HttpResponse.BodyHandlers.discarding()).thenComposeAsync(response -> {
+      final var length = response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+      final var validator = cacheValidator(response.headers());
+      if (response.statusCode() != 200 || (validator == null && length < 0L)) {
+        return this.download(file, url, uncachedOptions);
+      }
+      final var cachedChecksum = cache.materialize(url, validator, length, file.toPath());
+      if (cachedChecksum != null) {
+        final var status = verifyCached(file, url, options, cachedChecksum);
+        if (status != null) {
+          return CompletableFuture.completedFuture(status);
+        }
+        // The cached asset was modified and has been removed, so it's downloaded again.
+      }
+      // The assets are stored by their SHA-256 checksum, which is computed while downloading if no other is requested.
+      final var downloadOptions = (options.digestAlgorithm() == null)
+        ? uncachedOptions.withDigest(AssetCache.DIGEST_ALGORITHM) : uncachedOptions;
+      return this.download(file, url, downloadOptions).thenApplyAsync(status -> {
+        storeCached(cache, url, validator, length, file, status, downloadOptions.digestAlgorithm());
+        return status;
+      }, executor);
+    }, executor).exceptionally(exception -> DownloadOperationStatus.error());
+  }
+
+  /**
+   * Returns the validator used to store a file into the cache, only the strong {@code ETag}s are used, as the weak
+   * ones don't guarantee that the content is the same.
+   *
+   * @param headers the response's headers.
+   * @return The strong {@code ETag}, or {@code null} if there's none.
+   * @since 4.1.0
+   */
+  private static @Nullable String cacheValidator(final @NotNull HttpHeaders headers) {
+    return headers.firstValue("ETag")
+      .filter(etag -> !etag.startsWith("W/"))
+      .orElse(null);
+  }
+
+  /**
+   * Stores the downloaded file into the cache, if it was downloaded completely.
+   *
+   * @param cache the {@link AssetCache} to use.
+   * @param url the url for download.
+   * @param validator the file's strong {@code ETag}, or {@code null} if unknown.
+   * @param length the file's size provided by the server, or {@code -1} if unknown.
+   * @param file the downloaded file.
+   * @param status the download's {@link DownloadOperationStatus}.
+   * @param digestAlgorithm the algorithm of the status' checksum, or {@code null} if it wasn't computed.
+   * @since 4.1.0
+   */
+  private static void storeCached(
+    final @NotNull AssetCache cache, final @NotNull String url, final @Nullable String validator, final long length,
+    final @NotNull File file, final @NotNull DownloadOperationStatus status, final @Nullable String digestAlgorithm
+  ) {
+    if (!status.wasDownloaded() || (length >= 0L && status.result() != length)) {
+      return;
+    }
+    final var checksum = AssetCache.DIGEST_ALGORITHM.equalsIgnoreCase(digestAlgorithm)
+      ? status.digest() : checksum(file, AssetCache.DIGEST_ALGORITHM);
+    if (checksum != null) {
+      cache.store(url, validator, length, file.toPath(), checksum);
+    }
+  }
+
+  /**
+   * Verifies the checksum of a file materialized from the cache, as it would be verified after downloading it.
+   * <br>
+   * If no digest's algorithm is requested, the file is not read again. Otherwise, the file's bytes are checked
+   * against the checksum stored by the cache, as the cached asset could have been modified in place through a
+   * hard-linked file. The cached asset is removed from the cache if it was modified, or if it doesn't match the
+   * expected digest, so the following downloads don't materialize it again.
+   *
+   * @param file the materialized file.
+   * @param url the url for download.
+   * @param options the {@link DownloadOptions} to use, which provide the cache.
+   * @param cachedChecksum the file's {@code SHA-256} checksum stored by the cache.
+   * @return A {@link DownloadOperationStatus}, or {@code null} if the cached asset was modified, in which case the
+   * file is deleted.
+   * @since 4.1.0
+   */
+  private static @Nullable DownloadOperationStatus verifyCached(
+    final @NotNull File file, final @NotNull String url, final @NotNull DownloadOptions options,
+    final @NotNull String cachedChecksum
+  ) {
+    final var algorithm = options.digestAlgorithm();
+    if (algorithm == null) {
+      return DownloadOperationStatus.downloaded(file.length());
+    }
+    final var cache = options.cache();
+    final var storedChecksum = checksum(file, AssetCache.DIGEST_ALGORITHM);
+    if (storedChecksum == null) {
+      return DownloadOperationStatus.error();
+    }
+    if (!cachedChecksum.equalsIgnoreCase(storedChecksum)) {
+      cache.invalidate(url);
+      file.delete();
+      return null;
+    }
+    final var checksum = AssetCache.DIGEST_ALGORITHM.equalsIgnoreCase(algorithm)
+      ? storedChecksum : checksum(file, algorithm);
+    if (checksum == null) {
+      return DownloadOperationStatus.error();
+    }
+    if (options.expectedDigest() != null && !options.expectedDigest().equalsIgnoreCase(checksum)) {
+      cache.invalidate(url);
+      file.delete();
+      return DownloadOperationStatus.mismatch(checksum);
+    }
+    return DownloadOperationStatus.downloaded(file.length(), checksum);
+  }
+
+  /**
+   * Downloads the file from the given URL using a single stream.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param digest the digest to update with the file's bytes, or {@code null}.
+   * @return A {@link CompletableFuture} with the file's read bytes-amount, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE}
+   * if the download failed.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull Long> streamDownload(
+    final @NotNull File file, final @NotNull String url, final @Nullable MessageDigest digest
+  ) {
+    final HttpRequest request;
+    try {
+      request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+    } catch (final IllegalArgumentException exception) {
+      // A malformed url fails the download as any other error, instead of throwing to the caller.
+      return CompletableFuture.completedFuture(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+    }
+    return this.client.sendAsync(request, responseInfo -> {
+      if (responseInfo.statusCode() != 200) {
+        return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+      }
+      final var fileChannel = openChannel(file, true);
+      return new FileBodySubscriber(fileChannel, 0L, Long.MAX_VALUE, true, digest);
+    }).thenApply(HttpResponse::body).exceptionally(exception -> FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+  }
+
+  /**
+   * Checks the file's size and ranges support, and downloads it using concurrent ranges if possible, or using a
+   * single stream otherwise.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param segments the maximum amount of ranges.
+   * @param digest the digest to update with the file's bytes, or {@code null}.
+   * @return A {@link CompletableFuture} with the file's read bytes-amount, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE}
+   * if the download failed.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull Long> probedDownload(
+    final @NotNull File file, final @NotNull String url, final int segments, final @Nullable MessageDigest digest
+  ) {
+    final var probeRequest = HttpRequest.newBuilder(URI.create(url))
+      .method("HEAD", HttpRequest.BodyPublishers.noBody())
+      .build();
+    return this.client.sendAsync(probeRequest, HttpResponse.BodyHandlers.discarding()).thenCompose(response -> {
+      final var length = response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+      final var rangesSupported = response.headers().firstValue("Accept-Ranges")
+        .filter("bytes"::equalsIgnoreCase)
+        .isPresent();
+      if (response.statusCode() != 200 || !rangesSupported || length < MINIMUM_SEGMENTED_DOWNLOAD_SIZE) {
+        return this.streamDownload(file, url, digest);
+      }
+      // The ranges are requested to the redirection's target, so the redirection is followed only once.
+      return this.segmentedDownload(file, response.uri(), length, segments, digest);
+    }).exceptionally(exception -> FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+  }
+
+  /**
+   * Downloads the file from the given URL splitting it into ranges downloaded concurrently.
+   *
+   * @param file the file's destination.
+   * @param uri the url for download.
+   * @param length the file's size.
+   * @param segments the maximum amount of ranges.
+   * @param digest the digest to update with the file's bytes once all the ranges are written, or {@code null}.
+   * @return A {@link CompletableFuture} with the file's read bytes-amount, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE}
+   * if any range couldn't be downloaded, in which case the other ranges are cancelled and the file is deleted.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull Long> segmentedDownload(
+    final @NotNull File file, final @NotNull URI uri, final long length, final int segments,
+    final @Nullable MessageDigest digest
+  ) {
+    final AsynchronousFileChannel fileChannel;
+    try {
+      fileChannel = openChannel(file, true);
+    } catch (final UncheckedIOException exception) {
+      return CompletableFuture.completedFuture(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+    }
+    final var rangesAmount = (int) Math.min(segments, length / MINIMUM_SEGMENT_SIZE);
+    final var rangeSize = length / rangesAmount;
+    final var exchanges = new CompletableFuture<?>[rangesAmount];
+    final var ranges = new CompletableFuture<?>[rangesAmount];
+    for (var i = 0; i < rangesAmount; i++) {
+      final var start = i * rangeSize;
+      // The last range includes the remainder of the division.
+      final var end = (i == rangesAmount - 1) ? length - 1 : start + rangeSize - 1;
+      final var exchange = this.rangeDownload(fileChannel, uri, start, end);
+      exchanges[i] = exchange;
+      ranges[i] = exchange.thenAccept(response -> {
+        if (response.body() != end - start + 1) {
+          throw new UncheckedIOException(new IOException("The range wasn't downloaded completely."));
+        }
+      });
+    }
+    // The first failed range cancels the others, as the file will be discarded anyway.
+    for (final var range : ranges) {
+      range.whenComplete((ignored, exception) -> {
+        if (exception != null) {
+          for (final var exchange : exchanges) {
+            exchange.cancel(true);
+          }
+        }
+      });
+    }
+    return CompletableFuture.allOf(ranges).handle((ignored, exception) -> {
+      try {
+        fileChannel.close();
+        if (exception == null) {
+          if (digest != null) {
+            updateDigest(digest, file, length);
+          }
+          return length;
+        }
+      } catch (final IOException ioException) {
+        // The file is discarded below, as it may be incomplete.
+      }
+      file.delete();
+      return FILE_DOWNLOAD_ERROR_DEFAULT_SIZE;
+    });
+  }
+
+  /**
+   * Downloads the given range of the file, and writes it at its position in the file's channel.
+   *
+   * @param fileChannel the file's channel.
+   * @param uri the url for download.
+   * @param start the range's first byte position.
+   * @param end the range's last byte position, inclusive.
+   * @return A {@link CompletableFuture} with the response, whose body is the range's written bytes-amount, or
+   * {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE} if the server didn't provide the range. Cancelling it aborts the
+   * range's download.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull HttpResponse<Long>> rangeDownload(
+    final @NotNull AsynchronousFileChannel fileChannel, final @NotNull URI uri, final long start, final long end
+  ) {
+    final var rangeRequest = HttpRequest.newBuilder(uri)
+      .header("Range", "bytes=" + start + '-' + end)
+      .GET()
+      .build();
+    return this.client.sendAsync(rangeRequest, responseInfo -> {
+      // A server that ignores the range sends the complete file, which can't be written at this position.
+      if (responseInfo.statusCode() != 206) {
+        return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+      }
+      return new FileBodySubscriber(fileChannel, start, end + 1, false, null);
+    });
+  }
+
+  /**
+   * Downloads the file from the given URL into a partial-file, resuming it from the bytes downloaded by a previous
+   * attempt if the file didn't change since then.
+   *
+   * @param file the file's destination.
+   * @param url the url for download.
+   * @param digest the digest to update with the file's bytes, or {@code null}.
+   * @return A {@link CompletableFuture} with the file's size, or {@link #FILE_DOWNLOAD_ERROR_DEFAULT_SIZE} if the
+   * download was interrupted or failed.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull Long> resumableDownload(
+    final @NotNull File file, final @NotNull String url, final @Nullable MessageDigest digest
+  ) {
+    final var partialFile = new File(file.getPath() + PARTIAL_FILE_EXTENSION);
+    final var metadataFile = new File(file.getPath() + METADATA_FILE_EXTENSION);
+    final var metadata = readMetadata(metadataFile);
+    final var requestBuilder = HttpRequest.newBuilder(URI.create(url)).GET();
+    final var offset = (metadata != null && url.equals(metadata.getProperty("url")) && partialFile.isFile())
+      ? partialFile.length() : 0L;
+    if (offset > 0L) {
+      // The server only provides the range if the validator still matches, otherwise it provides the complete file.
+      requestBuilder.header("Range", "bytes=" + offset + '-')
+        .header("If-Range", metadata.getProperty("validator"));
+      if (digest != null) {
+        try {
+          updateDigest(digest, partialFile, offset);
+        } catch (final IOException exception) {
+          return CompletableFuture.completedFuture(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+        }
+      }
+    }
+    return this.client.sendAsync(requestBuilder.build(), responseInfo -> {
+      final long position;
+      final long length;
+      switch (responseInfo.statusCode()) {
+        case 206 -> {
+          position = offset;
+          length = Long.parseLong(metadata.getProperty("length"));
+          final var contentRange = responseInfo.headers().firstValue("Content-Range").orElse("");
+          if (!contentRange.equals("bytes " + offset + '-' + (length - 1) + '/' + length)) {
+            discard(partialFile, metadataFile);
+            return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+          }
+        }
+        case 200 -> {
+          position = 0L;
+          length = responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1L);
+          writeMetadata(metadataFile, url, responseInfo, length);
+          // The file changed, so the bytes of the partial-file are not part of it anymore.
+          if (digest != null) {
+            digest.reset();
+          }
+        }
+        case 416 -> {
+          // The partial-file is already complete, only its renaming was interrupted.
+          if (metadata == null || offset != Long.parseLong(metadata.getProperty("length"))) {
+            discard(partialFile, metadataFile);
+            return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+          }
+          return HttpResponse.BodySubscribers.replacing(offset);
+        }
+        default -> {
+          return HttpResponse.BodySubscribers.replacing(FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+        }
+      }
+      final var fileChannel = openChannel(partialFile, position == 0L);
+      return HttpResponse.BodySubscribers.mapping(
+        new FileBodySubscriber(fileChannel, position, (length < 0L) ? Long.MAX_VALUE : length, true, digest),
+        written -> (length < 0L || position + written == length)
+          ? position + written : FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+    }).thenApply(response -> {
+      final long size = response.body();
+      if (size < 0L) {
+        // The partial-file and its metadata are kept, so the next attempt resumes from here.
+        return FILE_DOWNLOAD_ERROR_DEFAULT_SIZE;
+      }
+      try {
+        Files.move(partialFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
       } catch (final IOException exception) {
         return FILE_DOWNLOAD_ERROR_DEFAULT_SIZE;
       }
-    }, ExecutorHelper.get());
+      metadataFile.delete();
+      return size;
+    }).exceptionally(exception -> FILE_DOWNLOAD_ERROR_DEFAULT_SIZE);
+  }
+
+  /**
+   * Opens an asynchronous channel to write into the given file, creating it if it doesn't exist.
+   * <br>
+   * The file is deleted instead of truncated, so the files hard-linked to it (such as the assets materialized by an
+   * {@link AssetCache}) are not modified.
+   *
+   * @param file the file to write.
+   * @param truncate whether the file's previous content is discarded.
+   * @return The file's {@link AsynchronousFileChannel}.
+   * @throws UncheckedIOException if the file couldn't be opened.
+   * @since 4.1.0
+   */
+  private static @NotNull AsynchronousFileChannel openChannel(final @NotNull File file, final boolean truncate) {
+    try {
+      if (truncate) {
+        Files.deleteIfExists(file.toPath());
+      }
+      return AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Creates a new digest for the given algorithm, which is validated by the {@link DownloadOptions}.
+   *
+   * @param algorithm the digest's algorithm.
+   * @return A new {@link MessageDigest}.
+   * @since 4.1.0
+   */
+  private static @NotNull MessageDigest createDigest(final @NotNull String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (final NoSuchAlgorithmException exception) {
+      throw new IllegalArgumentException(exception);
+    }
+  }
+
+  /**
+   * Computes the given file's checksum reading it from the disk.
+   *
+   * @param file the file to read.
+   * @param algorithm the digest's algorithm.
+   * @return The file's checksum as an hexadecimal string, or {@code null} if the file couldn't be read.
+   * @since 4.1.0
+   */
+  private static @Nullable String checksum(final @NotNull File file, final @NotNull String algorithm) {
+    final var digest = createDigest(algorithm);
+    try {
+      updateDigest(digest, file, file.length());
+    } catch (final IOException exception) {
+      return null;
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Updates the digest with the first bytes of the given file.
+   *
+   * @param digest the digest to update.
+   * @param file the file to read.
+   * @param length the amount of bytes to read.
+   * @throws IOException if the file couldn't be read, or it's shorter than expected.
+   * @since 4.1.0
+   */
+  private static void updateDigest(
+    final @NotNull MessageDigest digest, final @NotNull File file, final long length
+  ) throws IOException {
+    try (final var fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final var buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+      var remaining = length;
+      while (remaining > 0L) {
+        buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+        final var read = fileChannel.read(buffer);
+        if (read < 0) {
+          throw new IOException("The file is shorter than expected.");
+        }
+        digest.update(buffer.flip());
+        remaining -= read;
+      }
+    }
+  }
+
+  /**
+   * Reads the metadata of a partial-file, or of a synced file.
+   *
+   * @param metadataFile the file's metadata-file.
+   * @return The metadata {@link Properties}, or {@code null} if there's none, or it doesn't provide a validator.
+   * @since 4.1.0
+   */
+  private static @Nullable Properties readMetadata(final @NotNull File metadataFile) {
+    if (!metadataFile.isFile()) {
+      return null;
+    }
+    final var metadata = new Properties();
+    try (final var inputStream = Files.newInputStream(metadataFile.toPath())) {
+      metadata.load(inputStream);
+    } catch (final IOException exception) {
+      return null;
+    }
+    try {
+      if (metadata.getProperty("url") == null || metadata.getProperty("validator") == null
+        || Long.parseLong(metadata.getProperty("length", "-1")) < 0L) {
+        return null;
+      }
+    } catch (final NumberFormatException exception) {
+      return null;
+    }
+    return metadata;
   }
+
+  /**
+   * Deletes a partial-file that can't be resumed and its metadata-file, so the next attempt starts again cleanly.
+   *
+   * @param partialFile the partial-file.
+   * @param metadataFile the partial-file's metadata-file.
+   * @since 4.1.0
+   */
+  private static void discard(final @NotNull File partialFile, final @NotNull File metadataFile) {
+    partialFile.delete();
+    metadataFile.delete();
+  }
+
+  /**
+   * Writes the metadata of a partial-file, using the response's {@code ETag} as validator, or its
+   * {@code Last-Modified} header if it has no strong {@code ETag}. If the response has no validator or size, the
+   * download can't be resumed and any previous metadata is deleted.
+   *
+   * @param metadataFile the partial-file's metadata-file.
+   * @param url the url for download.
+   * @param response the download's response-information.
+   * @param length the file's size, or {@code -1} if unknown.
+   * @throws UncheckedIOException if the metadata couldn't be written.
+   * @since 4.1.0
+   */
+  private static void writeMetadata(
+    final @NotNull File metadataFile, final @NotNull String url, final @NotNull HttpResponse.ResponseInfo response,
+    final long length
+  ) {
+    // Weak validators can't be used on range-requests.
+    final var validator = response.headers().firstValue("ETag")
+      .filter(etag -> !etag.startsWith("W/"))
+      .or(() -> response.headers().firstValue("Last-Modified"))
+      .orElse(null);
+    if (validator == null || length < 0L) {
+      metadataFile.delete();
+      return;
+    }
+    final var metadata = new Properties();
+    metadata.setProperty("url", url);
+    metadata.setProperty("validator", validator);
+    metadata.setProperty("length", Long.toString(length));
+    try (final var outputStream = Files.newOutputStream(metadataFile.toPath())) {
+      metadata.store(outputStream, null);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
 }
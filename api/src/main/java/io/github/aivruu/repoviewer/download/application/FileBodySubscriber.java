@@ -0,0 +1,206 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link HttpResponse.BodySubscriber} that writes the response's body into an {@link AsynchronousFileChannel}
+ * starting at the given position, so no thread is blocked while the body is received or written.
+ * <br>
+ * Every received chunk is written completely before requesting the next one, so the body's buffering is bounded.
+ * The bytes after the limit are discarded. The body provided is the amount of written bytes. If a digest is given,
+ * it's updated with every written byte in order, so the file doesn't need to be read again to compute its checksum.
+ *
+ * @since 4.1.0
+ */
+final class FileBodySubscriber implements HttpResponse.BodySubscriber<Long> {
+  private final CompletableFuture<Long> result = new CompletableFuture<>();
+  private final AsynchronousFileChannel fileChannel;
+  private final long start;
+  private final long limit;
+  private final boolean closeChannel;
+  private final MessageDigest digest;
+  private Flow.Subscription subscription;
+  private long position;
+  /** Whether a chunk is being written, guarded by this subscriber's monitor. */
+  private boolean writing;
+  /** Whether the body was received completely, guarded by this subscriber's monitor. */
+  private boolean upstreamCompleted;
+
+  /**
+   * Creates a new {@link FileBodySubscriber} with the given parameters.
+   *
+   * @param fileChannel the channel to write into.
+   * @param start the position to start writing at.
+   * @param limit the position to stop writing at, exclusive.
+   * @param closeChannel whether the channel is closed once the body is written, or the writing fails.
+   * @param digest the digest to update with the written bytes, or {@code null}.
+   * @since 4.1.0
+   */
+  FileBodySubscriber(
+    final @NotNull AsynchronousFileChannel fileChannel, final long start, final long limit, final boolean closeChannel,
+    final @Nullable MessageDigest digest
+  ) {
+    this.fileChannel = fileChannel;
+    this.start = start;
+    this.limit = limit;
+    this.closeChannel = closeChannel;
+    this.digest = digest;
+    this.position = start;
+  }
+
+  @Override
+  public @NotNull CompletionStage<Long> getBody() {
+    return this.result;
+  }
+
+  @Override
+  public void onSubscribe(final @NotNull Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(1);
+  }
+
+  @Override
+  public void onNext(final @NotNull List<ByteBuffer> buffers) {
+    synchronized (this) {
+      this.writing = true;
+    }
+    this.write(buffers.iterator(), null);
+  }
+
+  /**
+   * Writes the given buffers one after another, requesting the next chunk once all of them are written.
+   *
+   * @param buffers the chunk's remaining buffers.
+   * @param current the buffer being written, or {@code null} to take the next one.
+   * @since 4.1.0
+   */
+  private void write(final @NotNull Iterator<ByteBuffer> buffers, final @Nullable ByteBuffer current) {
+    var buffer = current;
+    while (buffer == null || !buffer.hasRemaining()) {
+      if (!buffers.hasNext() || this.position >= this.limit) {
+        this.chunkWritten();
+        return;
+      }
+      buffer = buffers.next();
+      if (buffer.remaining() > this.limit - this.position) {
+        buffer.limit(buffer.position() + (int) (this.limit - this.position));
+      }
+      if (this.digest != null) {
+        this.digest.update(buffer.duplicate());
+      }
+    }
+    final var pending = buffer;
+    this.fileChannel.write(pending, this.position, null, new CompletionHandler<Integer, Void>() {
+      @Override
+      public void completed(final Integer written, final Void attachment) {
+        FileBodySubscriber.this.position += written;
+        FileBodySubscriber.this.write(buffers, pending);
+      }
+
+      @Override
+      public void failed(final Throwable exception, final Void attachment) {
+        FileBodySubscriber.this.subscription.cancel();
+        FileBodySubscriber.this.fail(exception);
+      }
+    });
+  }
+
+  /**
+   * Requests the next chunk, or completes the result if the body was already received completely.
+   *
+   * @since 4.1.0
+   */
+  private void chunkWritten() {
+    final boolean completed;
+    synchronized (this) {
+      this.writing = false;
+      completed = this.upstreamCompleted;
+    }
+    if (completed) {
+      this.complete();
+    } else {
+      this.subscription.request(1);
+    }
+  }
+
+  @Override
+  public void onError(final @NotNull Throwable throwable) {
+    this.fail(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    final boolean writing;
+    synchronized (this) {
+      this.upstreamCompleted = true;
+      writing = this.writing;
+    }
+    // The completion can arrive while the last chunk is written, in which case it completes once it's written.
+    if (!writing) {
+      this.complete();
+    }
+  }
+
+  /**
+   * Closes the channel if required, and completes the result with the amount of written bytes.
+   *
+   * @since 4.1.0
+   */
+  private void complete() {
+    if (this.closeChannel) {
+      try {
+        this.fileChannel.close();
+      } catch (final IOException exception) {
+        this.result.completeExceptionally(exception);
+        return;
+      }
+    }
+    this.result.complete(this.position - this.start);
+  }
+
+  /**
+   * Closes the channel if required, and completes the result exceptionally.
+   *
+   * @param throwable the failure's cause.
+   * @since 4.1.0
+   */
+  private void fail(final @NotNull Throwable throwable) {
+    if (this.closeChannel) {
+      try {
+        this.fileChannel.close();
+      } catch (final IOException exception) {
+        throwable.addSuppressed(exception);
+      }
+    }
+    this.result.completeExceptionally(throwable);
+  }
+}
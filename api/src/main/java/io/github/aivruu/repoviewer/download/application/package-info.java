@@ -1,5 +1,5 @@
 /**
- * Provides access to the downloader service and status-provider.
+ * Provides access to the downloader service, its options, status-provider and archive-extraction types.
  *
  * @since 4.0.0
  */
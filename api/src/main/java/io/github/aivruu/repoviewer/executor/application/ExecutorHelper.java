@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Custom thread-pool creator utility-class for asynchronous-operations.
@@ -28,6 +29,7 @@ import java.util.concurrent.Executors;
  */
 public final class ExecutorHelper {
   private static Executor pool;
+  private static ExecutorMode mode;
 
   private ExecutorHelper() {
     throw new UnsupportedOperationException("This class is for utility.");
@@ -48,16 +50,56 @@ public final class ExecutorHelper {
   }
 
   /**
-   * Initializes the thread-pool with the given amount of threads.
+   * Returns the {@link ExecutorMode} used to initialize the thread-pool.
+   *
+   * @return The {@link ExecutorMode}.
+   * @throws IllegalStateException if the thread-pool is not initialized.
+   * @since 4.1.0
+   */
+  public static @NotNull ExecutorMode mode() {
+    if (mode == null) {
+      throw new IllegalStateException("The thread-pool has not been initialized.");
+    }
+    return mode;
+  }
+
+  /**
+   * Initializes the thread-pool with the given amount of platform-threads.
    *
    * @param threads the amount of threads to use.
    * @throws IllegalStateException if the thread-pool is already initialized.
+   * @see #build(ExecutorMode, int)
    * @since 4.0.0
    */
   public static void build(final int threads) {
+    build(ExecutorMode.PLATFORM, threads);
+  }
+
+  /**
+   * Initializes the thread-pool using the given mode.
+   * <br>
+   * The {@link ExecutorMode#VIRTUAL} mode is recommended when many downloads or requests are made concurrently, as
+   * the blocking-operations don't hold a platform-thread.
+   *
+   * @param executorMode the thread-pool's type.
+   * @param threads the amount of threads to use, ignored for {@link ExecutorMode#VIRTUAL}.
+   * @throws IllegalStateException if the thread-pool is already initialized.
+   * @since 4.1.0
+   */
+  public static void build(final @NotNull ExecutorMode executorMode, final int threads) {
     if (pool != null) {
       throw new IllegalStateException("The thread-pool is already initialized.");
     }
-    pool = Executors.newFixedThreadPool(threads, r -> new Thread(r, "RepoViewer-Thread-Pool"));
+    pool = switch (executorMode) {
+      case PLATFORM -> {
+        final var threadCounter = new AtomicInteger();
+        yield Executors.newFixedThreadPool(threads, r ->
+          new Thread(r, "RepoViewer-Thread-Pool-" + threadCounter.getAndIncrement()));
+      }
+      case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+        .name("RepoViewer-Virtual-Thread-", 0)
+        .factory());
+    };
+    mode = executorMode;
   }
 }
@@ -0,0 +1,29 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.executor.application;
+
+/**
+ * Represents the thread-pool types that can be created by the {@link ExecutorHelper}.
+ *
+ * @since 4.1.0
+ */
+public enum ExecutorMode {
+  /** A fixed-sized pool of platform-threads. */
+  PLATFORM,
+  /** A new virtual-thread per task, the pool doesn't need to be sized. */
+  VIRTUAL
+}
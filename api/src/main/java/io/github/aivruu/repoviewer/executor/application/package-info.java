@@ -1,5 +1,5 @@
 /**
- * Provides access to the thread-pool utility-class.
+ * Provides access to the thread-pool utility-class and the thread-pool modes enum-type.
  *
  * @since 4.0.0
  */
@@ -0,0 +1,293 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stops sending requests to a host while it's failing or responding slowly, so the requests fail immediately instead
+ * of waiting for their timeout.
+ * <br>
+ * Every host has its own circuit, which records the results of the most recent requests. Once the minimum amount of
+ * calls is recorded and the failure-rate or slow-call rate reaches its threshold, the circuit is opened and the
+ * requests are short-circuited. After the open-duration, the circuit is half-opened and a few probe-requests are sent,
+ * if all of them succeed the circuit is closed again, otherwise it's opened again.
+ * <br>
+ * This circuit-breaker is thread-safe and is expected to be shared between all the requests.
+ *
+ * @since 4.1.0
+ */
+public final class CircuitBreaker {
+  private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+  private final LongAdder shortCircuited = new LongAdder();
+  private final LongAdder opened = new LongAdder();
+  private final double failureRateThreshold;
+  private final double slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final int windowSize;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int halfOpenCalls;
+
+  /**
+   * Creates a new {@link CircuitBreaker} with the given parameters.
+   *
+   * @param failureRateThreshold the fraction of failed calls that opens the circuit, such as {@code 0.5}.
+   * @param slowCallRateThreshold the fraction of slow calls that opens the circuit, such as {@code 0.8}.
+   * @param slowCallDuration the latency after which a call is considered slow.
+   * @param windowSize the amount of most recent calls recorded per host.
+   * @param minimumCalls the amount of calls required before computing the rates.
+   * @param openDuration the time the circuit stays open before sending probe-requests.
+   * @param halfOpenCalls the amount of probe-requests sent while the circuit is half-opened.
+   * @throws IllegalArgumentException if the thresholds are not between zero and one, or the amounts are not positive
+   * or the minimum-calls amount exceeds the window's size.
+   * @since 4.1.0
+   */
+  public CircuitBreaker(
+    final double failureRateThreshold, final double slowCallRateThreshold, final @NotNull Duration slowCallDuration,
+    final int windowSize, final int minimumCalls, final @NotNull Duration openDuration, final int halfOpenCalls
+  ) {
+    if (failureRateThreshold <= 0.0D || failureRateThreshold > 1.0D || slowCallRateThreshold <= 0.0D
+      || slowCallRateThreshold > 1.0D || minimumCalls < 1 || windowSize < minimumCalls || halfOpenCalls < 1) {
+      throw new IllegalArgumentException("The circuit-breaker's thresholds must be between zero and one, and its "
+        + "amounts positive with a window not smaller than the minimum-calls.");
+    }
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    this.slowCallNanos = slowCallDuration.toNanos();
+    this.windowSize = windowSize;
+    this.minimumCalls = minimumCalls;
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  /**
+   * Returns whether a request to the given url's host can be started, without taking any probe-permit.
+   *
+   * @param uri the request's url.
+   * @return {@code true} if the host's circuit is not open, or its open-duration elapsed, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean allows(final @NotNull URI uri) {
+    final var circuit = this.circuit(uri);
+    circuit.lock.lock();
+    try {
+      if (circuit.state == CircuitState.OPEN && System.nanoTime() - circuit.openedAt < this.openNanos) {
+        this.shortCircuited.increment();
+        return false;
+      }
+      return true;
+    } finally {
+      circuit.lock.unlock();
+    }
+  }
+
+  /**
+   * Takes a permit to send a request to the given url's host right away. Every permit taken must be followed by a
+   * call to {@link #record(URI, long, boolean)} once the response is received.
+   *
+   * @param uri the request's url.
+   * @return {@code true} if the request can be sent, {@code false} if it's short-circuited.
+   * @since 4.1.0
+   */
+  public boolean tryAcquire(final @NotNull URI uri) {
+    final var circuit = this.circuit(uri);
+    circuit.lock.lock();
+    try {
+      if (circuit.state == CircuitState.OPEN) {
+        if (System.nanoTime() - circuit.openedAt < this.openNanos) {
+          this.shortCircuited.increment();
+          return false;
+        }
+        circuit.state = CircuitState.HALF_OPEN;
+        circuit.probes = 0;
+        circuit.probeSuccesses = 0;
+      }
+      if (circuit.state == CircuitState.HALF_OPEN) {
+        if (circuit.probes >= this.halfOpenCalls) {
+          this.shortCircuited.increment();
+          return false;
+        }
+        circuit.probes++;
+      }
+      return true;
+    } finally {
+      circuit.lock.unlock();
+    }
+  }
+
+  /**
+   * Records the result of a request sent to the given url's host, opening or closing its circuit if required.
+   *
+   * @param uri the request's url.
+   * @param latencyNanos the time taken to receive the response, in nanoseconds.
+   * @param failed whether the request failed without a response, or the host answered with a server-error.
+   * @since 4.1.0
+   */
+  public void record(final @NotNull URI uri, final long latencyNanos, final boolean failed) {
+    final var circuit = this.circuit(uri);
+    final var slow = latencyNanos >= this.slowCallNanos;
+    circuit.lock.lock();
+    try {
+      switch (circuit.state) {
+        case HALF_OPEN -> {
+          if (failed || slow) {
+            this.open(circuit);
+          } else if (++circuit.probeSuccesses >= this.halfOpenCalls) {
+            circuit.close();
+          }
+        }
+        case CLOSED -> {
+          circuit.add(failed, slow);
+          if (circuit.calls >= this.minimumCalls
+            && ((double) circuit.failures / circuit.calls >= this.failureRateThreshold
+            || (double) circuit.slowCalls / circuit.calls >= this.slowCallRateThreshold)) {
+            this.open(circuit);
+          }
+        }
+        // Results of requests sent before the circuit was opened are ignored.
+        case OPEN -> {}
+      }
+    } finally {
+      circuit.lock.unlock();
+    }
+  }
+
+  /**
+   * Opens the given circuit. Must be called holding the circuit's lock.
+   *
+   * @param circuit the circuit to open.
+   * @since 4.1.0
+   */
+  private void open(final @NotNull Circuit circuit) {
+    circuit.state = CircuitState.OPEN;
+    circuit.openedAt = System.nanoTime();
+    this.opened.increment();
+  }
+
+  /**
+   * Returns the circuit for the given url's host, creating it if there's none.
+   *
+   * @param uri the request's url.
+   * @return The host's circuit.
+   * @since 4.1.0
+   */
+  private @NotNull Circuit circuit(final @NotNull URI uri) {
+    return this.circuits.computeIfAbsent(String.valueOf(uri.getAuthority()), host -> new Circuit(this.windowSize));
+  }
+
+  /**
+   * Returns the state of the given url's host circuit.
+   *
+   * @param uri the url to check.
+   * @return The {@link CircuitState}.
+   * @since 4.1.0
+   */
+  public @NotNull CircuitState state(final @NotNull URI uri) {
+    final var circuit = this.circuit(uri);
+    circuit.lock.lock();
+    try {
+      return circuit.state;
+    } finally {
+      circuit.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of requests short-circuited without being sent.
+   *
+   * @return The short-circuited requests amount.
+   * @since 4.1.0
+   */
+  public long shortCircuited() {
+    return this.shortCircuited.sum();
+  }
+
+  /**
+   * Returns the amount of times that any circuit was opened.
+   *
+   * @return The opened circuits amount.
+   * @since 4.1.0
+   */
+  public long opened() {
+    return this.opened.sum();
+  }
+
+  /**
+   * Represents a host's circuit, with the results of its most recent calls.
+   *
+   * @since 4.1.0
+   */
+  private static final class Circuit {
+    private final ReentrantLock lock = new ReentrantLock();
+    /** The most recent calls' results, using a bit for the failure and another one for the slowness. */
+    private final byte[] window;
+    private CircuitState state = CircuitState.CLOSED;
+    private int index;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probes;
+    private int probeSuccesses;
+
+    private Circuit(final int windowSize) {
+      this.window = new byte[windowSize];
+    }
+
+    /**
+     * Adds a call's result to the window, replacing the oldest one if it's full.
+     *
+     * @param failed whether the call failed.
+     * @param slow whether the call was slow.
+     * @since 4.1.0
+     */
+    private void add(final boolean failed, final boolean slow) {
+      if (this.calls == this.window.length) {
+        final var oldest = this.window[this.index];
+        this.failures -= oldest & 1;
+        this.slowCalls -= (oldest >> 1) & 1;
+      } else {
+        this.calls++;
+      }
+      this.window[this.index] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+      this.failures += failed ? 1 : 0;
+      this.slowCalls += slow ? 1 : 0;
+      this.index = (this.index + 1) % this.window.length;
+    }
+
+    /**
+     * Closes the circuit, discarding the recorded results.
+     *
+     * @since 4.1.0
+     */
+    private void close() {
+      this.state = CircuitState.CLOSED;
+      this.index = 0;
+      this.calls = 0;
+      this.failures = 0;
+      this.slowCalls = 0;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+/**
+ * Represents the states of a host's circuit in the {@link CircuitBreaker}.
+ *
+ * @since 4.1.0
+ */
+public enum CircuitState {
+  /** The requests are sent, and their results are recorded. */
+  CLOSED,
+  /** The requests are short-circuited without being sent, until the open-duration elapses. */
+  OPEN,
+  /** A limited amount of probe-requests are sent to decide whether the circuit is closed or opened again. */
+  HALF_OPEN
+}
@@ -0,0 +1,278 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the amount of requests in-flight, adapting the limit to the latency observed with an additive-increase and
+ * multiplicative-decrease (AIMD) algorithm.
+ * <br>
+ * While the responses are received without failures and their latency stays near the minimum latency observed, the
+ * limit grows by one every limit-amount of responses. When a request fails, is rejected due to the API's load, or its
+ * latency exceeds the minimum one by the tolerance defined, the limit is reduced by the backoff-ratio, at most once per
+ * latency-window. The minimum latency is observed again every sample-window of successful responses, so a single
+ * unusually fast response can't keep reducing the limit. The requests over the limit wait in a bounded queue, and
+ * are shed if it's full or their wait exceeds the maximum-wait defined.
+ * <br>
+ * This limiter is thread-safe and is expected to be shared between all the requests for the same host.
+ *
+ * @since 4.1.0
+ */
+public final class ConcurrencyLimiter {
+  /** The factor applied to the limit when a request is dropped or its latency increases. */
+  private static final double BACKOFF_RATIO = 0.9D;
+  /** The amount of successful responses after which the minimum latency is replaced by the window's one. */
+  private static final int SAMPLE_WINDOW_SIZE = 100;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Deque<CompletableFuture<Boolean>> waiters = new ArrayDeque<>();
+  private final LongAdder queued = new LongAdder();
+  private final LongAdder shed = new LongAdder();
+  private final int minimumLimit;
+  private final int maximumLimit;
+  private final int maximumQueued;
+  private final long maximumWaitMillis;
+  private final double latencyTolerance;
+  private double limit;
+  private int inFlight;
+  private long minimumLatencyNanos = Long.MAX_VALUE;
+  private long windowMinimumLatencyNanos = Long.MAX_VALUE;
+  private int windowSamples;
+  private long decreasedAtNanos;
+
+  /**
+   * Creates a new {@link ConcurrencyLimiter} with the given parameters.
+   *
+   * @param initialLimit the limit to start with.
+   * @param minimumLimit the limit's lower-bound.
+   * @param maximumLimit the limit's upper-bound.
+   * @param maximumQueued the maximum amount of requests waiting for a permit, {@code 0} to shed them immediately.
+   * @param maximumWait the maximum time that a request can wait for a permit.
+   * @param latencyTolerance the factor by which a latency can exceed the minimum one before reducing the limit,
+   *                         such as {@code 2.0}.
+   * @throws IllegalArgumentException if the limits are not ordered, the minimum-limit is not positive, the
+   * maximum-queued amount is negative or the latency-tolerance is not greater than one.
+   * @since 4.1.0
+   */
+  public ConcurrencyLimiter(
+    final int initialLimit, final int minimumLimit, final int maximumLimit, final int maximumQueued,
+    final @NotNull Duration maximumWait, final double latencyTolerance
+  ) {
+    if (minimumLimit < 1 || initialLimit < minimumLimit || maximumLimit < initialLimit || maximumQueued < 0
+      || latencyTolerance <= 1.0D) {
+      throw new IllegalArgumentException("The limiter's limits must be positive and ordered, its maximum-queued amount "
+        + "not negative, and its latency-tolerance greater than one.");
+    }
+    this.limit = initialLimit;
+    this.minimumLimit = minimumLimit;
+    this.maximumLimit = maximumLimit;
+    this.maximumQueued = maximumQueued;
+    this.maximumWaitMillis = maximumWait.toMillis();
+    this.latencyTolerance = latencyTolerance;
+    this.decreasedAtNanos = System.nanoTime();
+  }
+
+  /**
+   * Acquires a permit to send a request, the returned future is completed once the request can be sent. Every
+   * acquired permit must be released using {@link #release(long, boolean)}, or {@link #cancel()} if the request
+   * wasn't sent.
+   *
+   * @return A {@link CompletableFuture} with {@code true} once the request can be sent, or {@code false} if it was
+   * shed.
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull Boolean> acquire() {
+    final CompletableFuture<Boolean> waiter;
+    this.lock.lock();
+    try {
+      if (this.inFlight < (int) this.limit) {
+        this.inFlight++;
+        return CompletableFuture.completedFuture(true);
+      }
+      if (this.waiters.size() >= this.maximumQueued) {
+        this.shed.increment();
+        return CompletableFuture.completedFuture(false);
+      }
+      waiter = new CompletableFuture<>();
+      this.waiters.addLast(waiter);
+    } finally {
+      this.lock.unlock();
+    }
+    this.queued.increment();
+    waiter.completeOnTimeout(false, this.maximumWaitMillis, TimeUnit.MILLISECONDS).thenAccept(permitted -> {
+      if (permitted) {
+        return;
+      }
+      this.shed.increment();
+      this.lock.lock();
+      try {
+        this.waiters.remove(waiter);
+      } finally {
+        this.lock.unlock();
+      }
+    });
+    return waiter;
+  }
+
+  /**
+   * Releases a permit, adapting the limit to the request's result and handing the permit to the next waiting
+   * request if there's any.
+   *
+   * @param latencyNanos the time taken to receive the response, in nanoseconds.
+   * @param dropped whether the request failed, or was rejected due to the API's load.
+   * @since 4.1.0
+   */
+  public void release(final long latencyNanos, final boolean dropped) {
+    final List<CompletableFuture<Boolean>> permitted;
+    this.lock.lock();
+    try {
+      this.inFlight--;
+      if (!dropped) {
+        this.windowMinimumLatencyNanos = Math.min(this.windowMinimumLatencyNanos, latencyNanos);
+        if (++this.windowSamples >= SAMPLE_WINDOW_SIZE) {
+          this.minimumLatencyNanos = this.windowMinimumLatencyNanos;
+          this.windowMinimumLatencyNanos = Long.MAX_VALUE;
+          this.windowSamples = 0;
+        }
+      }
+      // The previous window's minimum is used until the current one is complete.
+      final var minimumLatencyNanos = Math.min(this.minimumLatencyNanos, this.windowMinimumLatencyNanos);
+      final var now = System.nanoTime();
+      if (dropped || latencyNanos > minimumLatencyNanos * this.latencyTolerance) {
+        // Only a decrease per latency-window, the responses of the requests sent before it reflect the previous limit.
+        if (now - this.decreasedAtNanos > latencyNanos) {
+          this.limit = Math.max(this.minimumLimit, this.limit * BACKOFF_RATIO);
+          this.decreasedAtNanos = now;
+        }
+      } else if (this.inFlight + 1 >= this.limit / 2) {
+        // The limit only grows while it's being used, otherwise it would grow without bound.
+        this.limit = Math.min(this.maximumLimit, this.limit + 1.0D / this.limit);
+      }
+      permitted = this.pollPermitted();
+    } finally {
+      this.lock.unlock();
+    }
+    this.complete(permitted);
+  }
+
+  /**
+   * Returns a permit whose request wasn't sent, or that was handed to a waiter that already timed out, without
+   * adapting the limit.
+   *
+   * @since 4.1.0
+   */
+  public void cancel() {
+    final List<CompletableFuture<Boolean>> permitted;
+    this.lock.lock();
+    try {
+      this.inFlight--;
+      permitted = this.pollPermitted();
+    } finally {
+      this.lock.unlock();
+    }
+    this.complete(permitted);
+  }
+
+  /**
+   * Removes the waiters that fit into the current limit, counting them as in-flight. Must be called holding the lock.
+   *
+   * @return The waiters that received a permit.
+   * @since 4.1.0
+   */
+  private @NotNull List<CompletableFuture<Boolean>> pollPermitted() {
+    final var permitted = new ArrayList<CompletableFuture<Boolean>>();
+    while (this.inFlight < (int) this.limit && !this.waiters.isEmpty()) {
+      permitted.add(this.waiters.pollFirst());
+      this.inFlight++;
+    }
+    return permitted;
+  }
+
+  /**
+   * Completes the given waiters outside the lock, as their dependent stages send the requests.
+   *
+   * @param permitted the waiters that received a permit.
+   * @since 4.1.0
+   */
+  private void complete(final @NotNull List<CompletableFuture<Boolean>> permitted) {
+    for (final var waiter : permitted) {
+      if (!waiter.complete(true)) {
+        this.cancel();
+      }
+    }
+  }
+
+  /**
+   * Returns the current concurrency-limit.
+   *
+   * @return The limit.
+   * @since 4.1.0
+   */
+  public int limit() {
+    this.lock.lock();
+    try {
+      return (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of requests currently in-flight.
+   *
+   * @return The in-flight requests amount.
+   * @since 4.1.0
+   */
+  public int inFlight() {
+    this.lock.lock();
+    try {
+      return this.inFlight;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of requests that had to wait for a permit.
+   *
+   * @return The queued requests amount.
+   * @since 4.1.0
+   */
+  public long queued() {
+    return this.queued.sum();
+  }
+
+  /**
+   * Returns the amount of requests that were shed without being sent.
+   *
+   * @return The shed requests amount.
+   * @since 4.1.0
+   */
+  public long shed() {
+    return this.shed.sum();
+  }
+}
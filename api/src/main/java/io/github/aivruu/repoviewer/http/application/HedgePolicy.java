@@ -0,0 +1,263 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second (hedge) request when the first one hasn't been answered after the latency's percentile defined, and
+ * provides the response of whichever finishes first, cancelling the other one.
+ * <br>
+ * The hedge's delay is computed from the latencies of the most recent responses, no hedge is sent until enough of them
+ * were observed. The amount of hedges is capped to a fraction of the requests made, so a slow API doesn't receive
+ * twice the load. This policy is thread-safe and is expected to be shared between all the requests for the same host.
+ *
+ * @since 4.1.0
+ */
+public final class HedgePolicy {
+  /** The amount of latencies kept to compute the percentile. */
+  private static final int SAMPLES_SIZE = 256;
+  /** The amount of latencies required before sending any hedge, and between every delay's computing. */
+  private static final int MINIMUM_SAMPLES = 32;
+  /** The latencies' window, guarded by the lock. */
+  private final long[] samples = new long[SAMPLES_SIZE];
+  private final ReentrantLock samplesLock = new ReentrantLock();
+  private final AtomicLong delayMillis = new AtomicLong(-1L);
+  private final LongAdder requests = new LongAdder();
+  private final AtomicLong hedges = new AtomicLong();
+  private final LongAdder hedgeWins = new LongAdder();
+  private final double percentile;
+  private final double maximumRate;
+  private final long minimumDelayMillis;
+  private long recorded;
+
+  /**
+   * Creates a new {@link HedgePolicy} with the given parameters.
+   *
+   * @param percentile the latency's percentile after which a hedge is sent, such as {@code 0.95}.
+   * @param maximumRate the maximum fraction of requests that can be hedged, such as {@code 0.05}.
+   * @param minimumDelay the minimum wait before sending a hedge, regardless of the percentile's latency.
+   * @throws IllegalArgumentException if the percentile or maximum-rate are not between zero and one.
+   * @since 4.1.0
+   */
+  public HedgePolicy(final double percentile, final double maximumRate, final @NotNull Duration minimumDelay) {
+    if (percentile <= 0.0D || percentile >= 1.0D || maximumRate < 0.0D || maximumRate > 1.0D) {
+      throw new IllegalArgumentException("The policy's percentile and maximum-rate must be between zero and one.");
+    }
+    this.percentile = percentile;
+    this.maximumRate = maximumRate;
+    this.minimumDelayMillis = minimumDelay.toMillis();
+  }
+
+  /**
+   * Sends the request using the given supplier, and sends a hedge using it too if there's no response after the
+   * policy's delay.
+   *
+   * @param requestSupplier the supplier that sends the request.
+   * @return A {@link CompletableFuture} with the first {@link HttpResponse} received.
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<HttpResponse<InputStream>> hedge(
+    final @NotNull Supplier<@NotNull CompletableFuture<HttpResponse<InputStream>>> requestSupplier
+  ) {
+    this.requests.increment();
+    final var result = new CompletableFuture<HttpResponse<InputStream>>();
+    final var pending = new AtomicInteger(1);
+    final var primary = this.send(requestSupplier, result, pending, false);
+    final var delay = this.delayMillis.get();
+    if (delay < 0L) {
+      return result;
+    }
+    final var hedge = new AtomicReference<CompletableFuture<HttpResponse<InputStream>>>();
+    CompletableFuture.delayedExecutor(Math.max(delay, this.minimumDelayMillis), TimeUnit.MILLISECONDS).execute(() -> {
+      if (result.isDone() || !this.tryHedge()) {
+        return;
+      }
+      pending.incrementAndGet();
+      hedge.set(this.send(requestSupplier, result, pending, true));
+    });
+    result.whenComplete((response, exception) -> {
+      // The loser is cancelled, if it was already answered its body is closed by its own completion.
+      primary.cancel(true);
+      final var hedgeFuture = hedge.get();
+      if (hedgeFuture != null) {
+        hedgeFuture.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Sends a request and completes the result with its response if no other request completed it before.
+   *
+   * @param requestSupplier the supplier that sends the request.
+   * @param result the future to complete.
+   * @param pending the amount of requests that haven't failed yet.
+   * @param hedged whether this request is a hedge.
+   * @return The request's future.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<HttpResponse<InputStream>> send(
+    final @NotNull Supplier<@NotNull CompletableFuture<HttpResponse<InputStream>>> requestSupplier,
+    final @NotNull CompletableFuture<HttpResponse<InputStream>> result, final @NotNull AtomicInteger pending,
+    final boolean hedged
+  ) {
+    final var startedAt = System.nanoTime();
+    CompletableFuture<HttpResponse<InputStream>> future;
+    try {
+      future = requestSupplier.get();
+    } catch (final RuntimeException exception) {
+      // A request that can't be sent fails as any other, so the pending requests are still counted down.
+      future = CompletableFuture.failedFuture(exception);
+    }
+    future.whenComplete((response, exception) -> {
+      if (exception != null) {
+        // The result only fails once every request has failed.
+        if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(exception);
+        }
+        return;
+      }
+      this.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+      if (result.isDone()) {
+        closeQuietly(response);
+        return;
+      }
+      // The win is counted before completing, as the completion runs the caller's dependent stages.
+      if (hedged) {
+        this.hedgeWins.increment();
+      }
+      if (!result.complete(response)) {
+        closeQuietly(response);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Checks whether a new hedge can be sent without exceeding the maximum-rate, and counts it if so.
+   *
+   * @return {@code true} if the hedge can be sent, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private boolean tryHedge() {
+    final var allowed = this.maximumRate * this.requests.sum();
+    // The check and the increment happen atomically, so concurrent hedges can't exceed the maximum-rate.
+    long hedges;
+    do {
+      hedges = this.hedges.get();
+      if (hedges + 1 > allowed) {
+        return false;
+      }
+    } while (!this.hedges.compareAndSet(hedges, hedges + 1));
+    return true;
+  }
+
+  /**
+   * Records a response's latency, and computes the hedge's delay again every {@link #MINIMUM_SAMPLES} latencies.
+   *
+   * @param latencyMillis the response's latency in milliseconds.
+   * @since 4.1.0
+   */
+  private void record(final long latencyMillis) {
+    final long[] copy;
+    this.samplesLock.lock();
+    try {
+      final var index = this.recorded++;
+      this.samples[(int) (index % SAMPLES_SIZE)] = latencyMillis;
+      if ((index + 1) % MINIMUM_SAMPLES != 0) {
+        return;
+      }
+      copy = Arrays.copyOf(this.samples, (int) Math.min(index + 1, SAMPLES_SIZE));
+    } finally {
+      this.samplesLock.unlock();
+    }
+    // The copy is sorted without holding the lock, so the other responses can be recorded meanwhile.
+    Arrays.sort(copy);
+    this.delayMillis.set(copy[(int) Math.ceil(this.percentile * copy.length) - 1]);
+  }
+
+  /**
+   * Closes the body of a response that won't be used.
+   *
+   * @param response the response to close.
+   * @since 4.1.0
+   */
+  private static void closeQuietly(final @NotNull HttpResponse<InputStream> response) {
+    try {
+      response.body().close();
+    } catch (final IOException ignored) {
+      // The response is discarded anyway.
+    }
+  }
+
+  /**
+   * Returns the current delay before sending a hedge.
+   *
+   * @return The delay in milliseconds, or {@code -1} if not enough latencies were observed yet.
+   * @since 4.1.0
+   */
+  public long delayMillis() {
+    final var delay = this.delayMillis.get();
+    return (delay < 0L) ? -1L : Math.max(delay, this.minimumDelayMillis);
+  }
+
+  /**
+   * Returns the amount of hedges sent.
+   *
+   * @return The hedges amount.
+   * @since 4.1.0
+   */
+  public long hedges() {
+    return this.hedges.get();
+  }
+
+  /**
+   * Returns the amount of hedges whose response was received before the first request's one.
+   *
+   * @return The hedge-wins amount.
+   * @since 4.1.0
+   */
+  public long hedgeWins() {
+    return this.hedgeWins.sum();
+  }
+
+  /**
+   * Returns the fraction of requests that were hedged.
+   *
+   * @return The hedge-rate.
+   * @since 4.1.0
+   */
+  public double hedgeRate() {
+    final var requests = this.requests.sum();
+    return (requests == 0L) ? 0.0D : (double) this.hedges.get() / requests;
+  }
+}
@@ -0,0 +1,87 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpHeaders;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility-class to read the rate-limit headers sent by the API. Malformed values are ignored as if the header was
+ * absent, so a response with an unexpected header never fails the request.
+ *
+ * @since 4.1.0
+ */
+final class RateLimitHeaders {
+  private RateLimitHeaders() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  /**
+   * Returns the non-negative number-value of the given header, such as {@code X-RateLimit-Remaining}.
+   *
+   * @param headers the response's headers.
+   * @param name the header's name.
+   * @return An {@link OptionalLong} with the header's value, or empty if it's absent or malformed.
+   * @since 4.1.0
+   */
+  static @NotNull OptionalLong longValue(final @NotNull HttpHeaders headers, final @NotNull String name) {
+    final var value = headers.firstValue(name).orElse(null);
+    return (value == null) ? OptionalLong.empty() : parseLong(value);
+  }
+
+  /**
+   * Returns the wait requested by the {@code Retry-After} header, which can either be an amount of seconds or the
+   * HTTP-date after which the request can be retried.
+   *
+   * @param headers the response's headers.
+   * @param now the current time in milliseconds.
+   * @return An {@link OptionalLong} with the milliseconds to wait, or empty if the header is absent or malformed.
+   * @since 4.1.0
+   */
+  static @NotNull OptionalLong retryAfterMillis(final @NotNull HttpHeaders headers, final long now) {
+    final var value = headers.firstValue("Retry-After").orElse(null);
+    if (value == null) {
+      return OptionalLong.empty();
+    }
+    final var seconds = parseLong(value);
+    if (seconds.isPresent()) {
+      return OptionalLong.of(TimeUnit.SECONDS.toMillis(seconds.getAsLong()));
+    }
+    try {
+      final var retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+      // Dates in the past mean that the request can be retried right away.
+      return OptionalLong.of(Math.max(0L, retryAt.toInstant().toEpochMilli() - now));
+    } catch (final DateTimeParseException exception) {
+      return OptionalLong.empty();
+    }
+  }
+
+  private static @NotNull OptionalLong parseLong(final @NotNull String value) {
+    try {
+      final var number = Long.parseLong(value.trim());
+      return (number < 0L) ? OptionalLong.empty() : OptionalLong.of(number);
+    } catch (final NumberFormatException exception) {
+      return OptionalLong.empty();
+    }
+  }
+}
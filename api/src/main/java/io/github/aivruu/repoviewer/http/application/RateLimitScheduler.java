@@ -0,0 +1,245 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Paces the outgoing requests according to the rate-limit quota informed by the API through the
+ * {@code X-RateLimit-Remaining}, {@code X-RateLimit-Reset} and {@code Retry-After} headers, the last one either as
+ * an amount of seconds or an HTTP-date. Malformed headers are ignored.
+ * <br>
+ * The permits are handed out by a token-bucket whose refill-rate spreads the remaining quota over the time left until
+ * the quota's reset, allowing bursts up to the bucket's capacity. Once the quota is exhausted, the requests are
+ * queued until the reset instead of being sent and rejected, unless the wait exceeds the maximum-wait defined. The
+ * restored quota is unknown until a response informs it, so the requests queued for the reset, and the ones made
+ * after it, are released in bursts up to the bucket's capacity every second, instead of all at the same instant.
+ * <br>
+ * This scheduler is thread-safe and is expected to be shared between all the requests made with the same credentials.
+ *
+ * @since 4.1.0
+ */
+public final class RateLimitScheduler {
+  /** The minimum wait used when a rate-limited response doesn't inform when the quota resets. */
+  private static final long MINIMUM_WAIT_MILLIS = 1000L;
+  /** The time in which the bucket is refilled completely while the restored quota is unknown. */
+  private static final long RESTORED_REFILL_MILLIS = 1000L;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LongAdder queued = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder rateLimited = new LongAdder();
+  private final int capacity;
+  private final long maximumWaitMillis;
+  private long remaining = -1L;
+  private long resetAtMillis;
+  private double tokens;
+  private long refilledAtMillis;
+
+  /**
+   * Creates a new {@link RateLimitScheduler} with the given parameters.
+   *
+   * @param capacity the amount of requests that can be sent in a burst while there's quota remaining.
+   * @param maximumWait the maximum time that a request can be queued, longer waits are rejected.
+   * @throws IllegalArgumentException if the capacity is not positive.
+   * @since 4.1.0
+   */
+  public RateLimitScheduler(final int capacity, final @NotNull Duration maximumWait) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The scheduler's capacity must be positive.");
+    }
+    this.capacity = capacity;
+    this.maximumWaitMillis = maximumWait.toMillis();
+    this.tokens = capacity;
+  }
+
+  /**
+   * Reserves a permit to send a request, the returned future is completed once the request can be sent.
+   *
+   * @return A {@link CompletableFuture} with {@code true} once the request can be sent, or {@code false} if the
+   * required wait exceeds the maximum-wait.
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull Boolean> acquire() {
+    final var delay = this.reserve(System.currentTimeMillis());
+    if (delay < 0L) {
+      this.rejected.increment();
+      return CompletableFuture.completedFuture(false);
+    }
+    if (delay == 0L) {
+      return CompletableFuture.completedFuture(true);
+    }
+    this.queued.increment();
+    return CompletableFuture.supplyAsync(() -> true, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Reserves a permit and returns the time to wait before using it.
+   *
+   * @param now the current time in milliseconds.
+   * @return The milliseconds to wait, or {@code -1} if the wait exceeds the maximum-wait.
+   * @since 4.1.0
+   */
+  private long reserve(final long now) {
+    this.lock.lock();
+    try {
+      // The quota is unknown until a response informs it.
+      if (this.remaining < 0L) {
+        return 0L;
+      }
+      if (this.remaining == 0L || now >= this.resetAtMillis) {
+        return this.reserveRestored(now);
+      }
+      final var timeToReset = this.resetAtMillis - now;
+      final var refillRate = (double) this.remaining / timeToReset;
+      final var available = Math.min(Math.min(this.capacity, this.remaining),
+        this.tokens + (now - this.refilledAtMillis) * refillRate);
+      final var delay = (available >= 1.0D) ? 0L : (long) Math.ceil((1.0D - available) / refillRate);
+      if (delay > this.maximumWaitMillis) {
+        return -1L;
+      }
+      // Tokens below one represent reservations made for the following refills.
+      this.tokens = available - 1.0D;
+      this.refilledAtMillis = now;
+      this.remaining--;
+      return delay;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Reserves a permit from the quota restored at the reset, and returns the time to wait before using it. The lock
+   * must be held.
+   * <br>
+   * The restored quota is unknown, so the bucket is full at the reset, and it's refilled completely every second
+   * until a response informs the quota. The reservations that exceed the bucket are spread over the following refills.
+   *
+   * @param now the current time in milliseconds.
+   * @return The milliseconds to wait, or {@code -1} if the wait exceeds the maximum-wait.
+   * @since 4.1.0
+   */
+  private long reserveRestored(final long now) {
+    final var restoredAt = Math.max(now, this.resetAtMillis);
+    // The tokens left from the previous quota are discarded once the reset is reached.
+    if (this.refilledAtMillis < this.resetAtMillis) {
+      this.tokens = this.capacity;
+      this.refilledAtMillis = this.resetAtMillis;
+    }
+    final var refillRate = (double) this.capacity / RESTORED_REFILL_MILLIS;
+    final var available = Math.min(this.capacity,
+      this.tokens + Math.max(0L, restoredAt - this.refilledAtMillis) * refillRate);
+    final var delay = (restoredAt - now)
+      + ((available >= 1.0D) ? 0L : (long) Math.ceil((1.0D - available) / refillRate));
+    if (delay > this.maximumWaitMillis) {
+      return -1L;
+    }
+    this.tokens = available - 1.0D;
+    this.refilledAtMillis = Math.max(this.refilledAtMillis, restoredAt);
+    return delay;
+  }
+
+  /**
+   * Updates the known quota with the rate-limit headers of the given response.
+   *
+   * @param response the received response.
+   * @return {@code true} if the response was rejected due to the rate-limit, in which case the request can be
+   * queued again, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean update(final @NotNull HttpResponse<?> response) {
+    final var headers = response.headers();
+    final var now = System.currentTimeMillis();
+    final var remainingHeader = RateLimitHeaders.longValue(headers, "X-RateLimit-Remaining");
+    final var resetHeader = RateLimitHeaders.longValue(headers, "X-RateLimit-Reset");
+    final var retryAfterHeader = RateLimitHeaders.retryAfterMillis(headers, now);
+    final var statusCode = response.statusCode();
+    final var limited = (statusCode == 403 || statusCode == 429)
+      && (retryAfterHeader.isPresent() || (remainingHeader.isPresent() && remainingHeader.getAsLong() == 0L));
+    this.lock.lock();
+    try {
+      if (remainingHeader.isPresent() && resetHeader.isPresent()) {
+        final var resetAtMillis = TimeUnit.SECONDS.toMillis(resetHeader.getAsLong());
+        // Responses can arrive out of order, a newer window always wins, and inside a window the lowest quota does.
+        if (resetAtMillis > this.resetAtMillis || remainingHeader.getAsLong() < this.remaining) {
+          this.remaining = remainingHeader.getAsLong();
+        }
+        this.resetAtMillis = Math.max(this.resetAtMillis, resetAtMillis);
+      }
+      if (limited) {
+        this.rateLimited.increment();
+        this.remaining = 0L;
+        final var retryAfterMillis = retryAfterHeader.orElse(MINIMUM_WAIT_MILLIS);
+        this.resetAtMillis = Math.max(this.resetAtMillis, now + Math.max(retryAfterMillis, MINIMUM_WAIT_MILLIS));
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    return limited;
+  }
+
+  /**
+   * Returns the remaining quota known by this scheduler.
+   *
+   * @return The remaining quota, or {@code -1} if it's still unknown.
+   * @since 4.1.0
+   */
+  public long remaining() {
+    this.lock.lock();
+    try {
+      return this.remaining;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of requests that had to wait before being sent.
+   *
+   * @return The queued requests amount.
+   * @since 4.1.0
+   */
+  public long queued() {
+    return this.queued.sum();
+  }
+
+  /**
+   * Returns the amount of requests that were not sent as their wait exceeded the maximum-wait.
+   *
+   * @return The rejected requests amount.
+   * @since 4.1.0
+   */
+  public long rejected() {
+    return this.rejected.sum();
+  }
+
+  /**
+   * Returns the amount of responses rejected by the API due to its rate-limit.
+   *
+   * @return The rate-limited responses amount.
+   * @since 4.1.0
+   */
+  public long rateLimited() {
+    return this.rateLimited.sum();
+  }
+}
@@ -0,0 +1,137 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import io.github.aivruu.repoviewer.http.domain.RequestResponseStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent requests for the same url, aggregate-root type and credential, so only one of them is sent
+ * and all the callers share its {@link RequestResponseStatus}. The requests made with different tokens, or without
+ * any, are never shared.
+ * <br>
+ * Every caller receives its own dependent {@link CompletableFuture}, so cancelling it doesn't affect the other callers
+ * or the shared request. If the shared request fails, all the callers receive the same exception. Once it completes,
+ * the next call for that url will send a new request.
+ *
+ * @since 4.1.0
+ */
+public final class RequestCoalescer {
+  private final Map<Key, CompletableFuture<? extends RequestResponseStatus<?>>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Returns a future for the in-flight anonymous request with the same url and type, or starts a new one using the
+   * given supplier if there's none.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param requestSupplier the supplier that sends the request and handles its response.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return A {@link CompletableFuture} with the shared {@link RequestResponseStatus}.
+   * @see #coalesce(URI, Class, String, Supplier)
+   * @since 4.1.0
+   */
+  public <A extends AggregateRoot> @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> coalesce(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type,
+    final @NotNull Supplier<@NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>>> requestSupplier
+  ) {
+    return this.coalesce(uri, type, null, requestSupplier);
+  }
+
+  /**
+   * Returns a future for the in-flight request with the same url, type and credential, or starts a new one using the
+   * given supplier if there's none.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @param requestSupplier the supplier that sends the request and handles its response.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return A {@link CompletableFuture} with the shared {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <A extends AggregateRoot> @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> coalesce(
+    final @NotNull URI uri, final @NotNull Class<? extends AggregateRoot> type, final @Nullable String credential,
+    final @NotNull Supplier<@NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>>> requestSupplier
+  ) {
+    final var key = new Key(uri, type, credential);
+    final var created = new CompletableFuture<RequestResponseStatus<A>>();
+    final var existing = this.inFlight.putIfAbsent(key, created);
+    if (existing != null) {
+      this.coalesced.increment();
+      return ((CompletableFuture<RequestResponseStatus<A>>) existing).copy();
+    }
+    try {
+      requestSupplier.get().whenComplete((responseStatus, exception) -> {
+        // The entry is removed before completion, so callers that arrive afterward send a new request.
+        this.inFlight.remove(key, created);
+        if (exception != null) {
+          created.completeExceptionally(exception);
+        } else {
+          created.complete(responseStatus);
+        }
+      });
+    } catch (final RuntimeException exception) {
+      this.inFlight.remove(key, created);
+      created.completeExceptionally(exception);
+    }
+    return created.copy();
+  }
+
+  /**
+   * Returns the amount of requests currently in-flight.
+   *
+   * @return The in-flight requests amount.
+   * @since 4.1.0
+   */
+  public int inFlight() {
+    return this.inFlight.size();
+  }
+
+  /**
+   * Returns the amount of calls that joined an in-flight request instead of sending a new one.
+   *
+   * @return The coalesced calls amount.
+   * @since 4.1.0
+   */
+  public long coalesced() {
+    return this.coalesced.sum();
+  }
+
+  /**
+   * Represents the key for an in-flight request.
+   *
+   * @param uri the request's url.
+   * @param type the aggregate-root's type.
+   * @param credential the credential used by the request, or {@code null} for anonymous requests.
+   * @since 4.1.0
+   */
+  private record Key(
+    @NotNull URI uri, @NotNull Class<? extends AggregateRoot> type, @Nullable String credential
+  ) {}
+}
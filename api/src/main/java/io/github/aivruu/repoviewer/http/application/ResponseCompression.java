@@ -0,0 +1,219 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates compressed-responses for the requests and decompresses their bodies while they're read, keeping track
+ * of the received compressed-bytes and the bytes they were decompressed into.
+ * <br>
+ * The decompression is only started once the body is read for the first time, so no thread is blocked while the
+ * response is being received.
+ *
+ * @since 4.1.0
+ */
+public final class ResponseCompression {
+  /** The value for the {@code Accept-Encoding} header sent with the requests. */
+  public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+  private final LongAdder compressedResponses = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder decompressedBytes = new LongAdder();
+
+  /**
+   * Returns a {@link HttpResponse.BodyHandler} that provides the response's body as a decompressed-stream based-on
+   * the response's {@code Content-Encoding} header.
+   *
+   * @return A {@link HttpResponse.BodyHandler}.
+   * @since 4.1.0
+   */
+  public HttpResponse.@NotNull BodyHandler<InputStream> bodyHandler() {
+    return responseInfo -> {
+      final var encoding = responseInfo.headers().firstValue("Content-Encoding").orElse(null);
+      return HttpResponse.BodySubscribers.mapping(
+        HttpResponse.BodySubscribers.ofInputStream(), stream -> this.decompress(encoding, stream));
+    };
+  }
+
+  /**
+   * Wraps the given stream into a decompressing-stream if the encoding is supported.
+   *
+   * @param encoding the response's content-encoding, or {@code null} if none.
+   * @param stream the response's body.
+   * @return The decompressing-stream, or the same stream if it's not encoded.
+   * @since 4.1.0
+   */
+  public @NotNull InputStream decompress(final @Nullable String encoding, final @NotNull InputStream stream) {
+    if (encoding == null) {
+      return stream;
+    }
+    return switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+      case "gzip", "x-gzip" -> new DecompressingInputStream(stream, true);
+      case "deflate" -> new DecompressingInputStream(stream, false);
+      default -> stream;
+    };
+  }
+
+  /**
+   * Returns the amount of compressed-responses received.
+   *
+   * @return The compressed-responses amount.
+   * @since 4.1.0
+   */
+  public long compressedResponses() {
+    return this.compressedResponses.sum();
+  }
+
+  /**
+   * Returns the amount of compressed-bytes received.
+   *
+   * @return The compressed-bytes amount.
+   * @since 4.1.0
+   */
+  public long compressedBytes() {
+    return this.compressedBytes.sum();
+  }
+
+  /**
+   * Returns the amount of bytes the compressed-responses were decompressed into.
+   *
+   * @return The decompressed-bytes amount.
+   * @since 4.1.0
+   */
+  public long decompressedBytes() {
+    return this.decompressedBytes.sum();
+  }
+
+  /**
+   * Checks if the given bytes are a valid zlib-header, that is, a deflate compression-method whose check-bits make
+   * the header a multiple of 31.
+   *
+   * @param header the stream's first bytes.
+   * @return Whether the bytes are a zlib-header.
+   * @since 4.1.0
+   */
+  private static boolean isZlibHeader(final byte @NotNull [] header) {
+    if (header.length < 2) {
+      return false;
+    }
+    final var compressionMethod = header[0] & 0xFF;
+    final var flags = header[1] & 0xFF;
+    return (compressionMethod & 0x0F) == 8 && ((compressionMethod << 8) | flags) % 31 == 0;
+  }
+
+  /**
+   * An {@link InputStream} that counts the compressed-bytes read from the body and decompresses them, the decoder
+   * is created on the first read since it needs to read the encoding's header.
+   * <br>
+   * Some servers send {@code deflate} bodies without the zlib-wrapper, so those bodies are decoded as raw deflate-data.
+   *
+   * @since 4.1.0
+   */
+  private final class DecompressingInputStream extends InputStream {
+    private final InputStream countingStream;
+    private final boolean gzip;
+    private InputStream decoder;
+    private Inflater rawInflater;
+
+    private DecompressingInputStream(final @NotNull InputStream stream, final boolean gzip) {
+      this.countingStream = new FilterInputStream(stream) {
+        @Override
+        public int read() throws IOException {
+          final var value = super.read();
+          if (value != -1) {
+            ResponseCompression.this.compressedBytes.increment();
+          }
+          return value;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] bytes, final int offset, final int length) throws IOException {
+          final var read = super.read(bytes, offset, length);
+          if (read > 0) {
+            ResponseCompression.this.compressedBytes.add(read);
+          }
+          return read;
+        }
+      };
+      this.gzip = gzip;
+      ResponseCompression.this.compressedResponses.increment();
+    }
+
+    private @NotNull InputStream decoder() throws IOException {
+      if (this.decoder == null) {
+        if (this.gzip) {
+          this.decoder = new GZIPInputStream(this.countingStream);
+        } else {
+          final var stream = new PushbackInputStream(this.countingStream, 2);
+          final var header = stream.readNBytes(2);
+          stream.unread(header);
+          if (isZlibHeader(header)) {
+            this.decoder = new InflaterInputStream(stream);
+          } else {
+            // The inflater isn't owned by the stream, so it's released on close.
+            this.rawInflater = new Inflater(true);
+            this.decoder = new InflaterInputStream(stream, this.rawInflater);
+          }
+        }
+      }
+      return this.decoder;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var value = this.decoder().read();
+      if (value != -1) {
+        ResponseCompression.this.decompressedBytes.increment();
+      }
+      return value;
+    }
+
+    @Override
+    public int read(final byte @NotNull [] bytes, final int offset, final int length) throws IOException {
+      final var read = this.decoder().read(bytes, offset, length);
+      if (read > 0) {
+        ResponseCompression.this.decompressedBytes.add(read);
+      }
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      // The decoder may not exist if the body was never read.
+      if (this.decoder != null) {
+        this.decoder.close();
+      } else {
+        this.countingStream.close();
+      }
+      if (this.rawInflater != null) {
+        this.rawInflater.end();
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the amount of retries relative to the amount of requests made, so retries can't multiply the load sent to
+ * the API while it's failing.
+ * <br>
+ * Every request deposits a fraction of a retry into the budget, and every retry withdraws a complete one. The budget
+ * starts full, and can't hold more retries than its capacity, so at most {@code capacity + ratio * requests} retries
+ * are made. This budget is thread-safe and is expected to be shared between all the {@link RetryPolicy}s.
+ *
+ * @since 4.1.0
+ */
+public final class RetryBudget {
+  private final ReentrantLock lock = new ReentrantLock();
+  private final double ratio;
+  private final int capacity;
+  private double balance;
+
+  /**
+   * Creates a new {@link RetryBudget} with the given parameters.
+   *
+   * @param ratio the fraction of a retry deposited per request, such as {@code 0.1} for a retry every ten requests.
+   * @param capacity the maximum amount of retries the budget can hold.
+   * @throws IllegalArgumentException if the ratio is negative, or the capacity is not positive.
+   * @since 4.1.0
+   */
+  public RetryBudget(final double ratio, final int capacity) {
+    if (ratio < 0.0D || capacity < 1) {
+      throw new IllegalArgumentException("The budget's ratio must not be negative, and its capacity must be positive.");
+    }
+    this.ratio = ratio;
+    this.capacity = capacity;
+    this.balance = capacity;
+  }
+
+  /**
+   * Deposits the ratio's fraction of a retry for a new request.
+   *
+   * @since 4.1.0
+   */
+  public void deposit() {
+    this.lock.lock();
+    try {
+      this.balance = Math.min(this.capacity, this.balance + this.ratio);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Withdraws a retry from the budget if there's enough balance for it.
+   *
+   * @return {@code true} if the retry can be made, {@code false} if the budget is exhausted.
+   * @since 4.1.0
+   */
+  public boolean tryWithdraw() {
+    this.lock.lock();
+    try {
+      if (this.balance < 1.0D) {
+        return false;
+      }
+      this.balance--;
+      return true;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of retries currently available.
+   *
+   * @return The budget's balance.
+   * @since 4.1.0
+   */
+  public double balance() {
+    this.lock.lock();
+    try {
+      return this.balance;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
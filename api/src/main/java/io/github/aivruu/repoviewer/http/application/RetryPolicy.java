@@ -0,0 +1,153 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a failed request should be sent again, and how long to wait before it.
+ * <br>
+ * Only idempotent requests are retried, and only when they failed without a response (a timeout or connection
+ * error), received a {@code 5xx} status-code that indicates a transient failure, or were rejected by a secondary
+ * rate-limit ({@code 403} or {@code 429} with a valid {@code Retry-After} header). The wait follows an
+ * exponential-backoff with full-jitter, so concurrent retries don't happen in lockstep, and every retry must be
+ * allowed by the shared {@link RetryBudget}.
+ *
+ * @since 4.1.0
+ */
+public final class RetryPolicy {
+  /** The methods which can be sent again without side effects. */
+  private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder budgetExhausted = new LongAdder();
+  private final int maximumAttempts;
+  private final long baseDelayMillis;
+  private final long maximumDelayMillis;
+  private final RetryBudget budget;
+
+  /**
+   * Creates a new {@link RetryPolicy} with the given parameters.
+   *
+   * @param maximumAttempts the maximum amount of times a request is sent, including the first one.
+   * @param baseDelay the wait's upper-bound for the first retry, doubled on every following retry.
+   * @param maximumDelay the wait's maximum upper-bound, longer {@code Retry-After} waits are not retried.
+   * @param budget the shared {@link RetryBudget} that limits the retries.
+   * @throws IllegalArgumentException if the maximum-attempts amount is not positive.
+   * @since 4.1.0
+   */
+  public RetryPolicy(
+    final int maximumAttempts, final @NotNull Duration baseDelay, final @NotNull Duration maximumDelay,
+    final @NotNull RetryBudget budget
+  ) {
+    if (maximumAttempts < 1) {
+      throw new IllegalArgumentException("The policy's maximum-attempts amount must be positive.");
+    }
+    this.maximumAttempts = maximumAttempts;
+    this.baseDelayMillis = baseDelay.toMillis();
+    this.maximumDelayMillis = maximumDelay.toMillis();
+    this.budget = budget;
+  }
+
+  /**
+   * Records a new request, depositing its fraction of a retry into the {@link RetryBudget}. This must be called once
+   * per request, no matter how many times it's sent.
+   *
+   * @since 4.1.0
+   */
+  public void recordRequest() {
+    this.budget.deposit();
+  }
+
+  /**
+   * Returns the time to wait before sending the request again, based-on the given attempt's response.
+   *
+   * @param response the attempt's response, or {@code null} if the request failed without a response.
+   * @param attempt the attempt's number, starting at zero.
+   * @return The milliseconds to wait before the retry, or {@code -1} if the request shouldn't be retried.
+   * @since 4.1.0
+   */
+  public long delay(final @Nullable HttpResponse<?> response, final int attempt) {
+    final var retryAfter = (response == null)
+      ? OptionalLong.empty() : RateLimitHeaders.retryAfterMillis(response.headers(), System.currentTimeMillis());
+    if (attempt + 1 >= this.maximumAttempts || !this.retryable(response, retryAfter.isPresent())) {
+      return -1L;
+    }
+    final var retryAfterMillis = retryAfter.orElse(0L);
+    if (retryAfterMillis > this.maximumDelayMillis) {
+      return -1L;
+    }
+    if (!this.budget.tryWithdraw()) {
+      this.budgetExhausted.increment();
+      return -1L;
+    }
+    this.retries.increment();
+    // The upper-bound is capped before shifting too far, so the exponential growth can't overflow.
+    final var upperBound = Math.min(this.maximumDelayMillis, this.baseDelayMillis << Math.min(attempt, 30));
+    final var jitteredDelay = (upperBound <= 0L) ? 0L : ThreadLocalRandom.current().nextLong(upperBound + 1L);
+    return Math.max(retryAfterMillis, jitteredDelay);
+  }
+
+  /**
+   * Returns whether the given response indicates a transient failure of an idempotent request.
+   *
+   * @param response the response to check, or {@code null} if the request failed without a response.
+   * @param retryAfter whether the response has a valid {@code Retry-After} header.
+   * @return {@code true} if the request can be retried, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  private boolean retryable(final @Nullable HttpResponse<?> response, final boolean retryAfter) {
+    if (response == null) {
+      return true;
+    }
+    if (!IDEMPOTENT_METHODS.contains(response.request().method())) {
+      return false;
+    }
+    return switch (response.statusCode()) {
+      case 500, 502, 503, 504 -> true;
+      case 403, 429 -> retryAfter;
+      default -> false;
+    };
+  }
+
+  /**
+   * Returns the amount of retries made.
+   *
+   * @return The retries amount.
+   * @since 4.1.0
+   */
+  public long retries() {
+    return this.retries.sum();
+  }
+
+  /**
+   * Returns the amount of retries that were not made as the {@link RetryBudget} was exhausted.
+   *
+   * @return The budget-exhausted retries amount.
+   * @since 4.1.0
+   */
+  public long budgetExhausted() {
+    return this.budgetExhausted.sum();
+  }
+}
@@ -0,0 +1,245 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads the requests across several authentication-tokens, selecting for every request the token with the most
+ * remaining quota as informed by the {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers.
+ * <br>
+ * Exhausted tokens are not selected until their quota is restored, unless all of them are exhausted, in which case
+ * the one restored first is selected. Tokens rejected by the API with a {@code 401} status-code are never selected
+ * again. This pool is thread-safe and is expected to be shared between all the requests.
+ *
+ * @since 4.1.0
+ */
+public final class TokenPool {
+  /** The header's prefix used to send the tokens. */
+  private static final String AUTHORIZATION_PREFIX = "Bearer ";
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Token[] tokens;
+  private final Map<String, Token> tokensByValue = new HashMap<>();
+  private final String credential;
+
+  /**
+   * Creates a new {@link TokenPool} with the given tokens.
+   *
+   * @param tokens the authentication-tokens to use.
+   * @throws IllegalArgumentException if no token is provided.
+   * @since 4.1.0
+   */
+  public TokenPool(final @NotNull String... tokens) {
+    if (tokens.length == 0) {
+      throw new IllegalArgumentException("At least one token must be provided.");
+    }
+    this.tokens = new Token[tokens.length];
+    for (var i = 0; i < tokens.length; i++) {
+      this.tokens[i] = new Token(tokens[i]);
+      this.tokensByValue.put(tokens[i], this.tokens[i]);
+    }
+    this.credential = credential(tokens);
+  }
+
+  /**
+   * Returns the identity of this pool's tokens, used to key the cached data fetched with them.
+   * <br>
+   * The pools with the same tokens have the same credential, regardless of their order, so the data is shared
+   * between the requests that use a new pool for the same token.
+   *
+   * @return The {@code SHA-256} checksum of the tokens as an hexadecimal string.
+   * @since 4.1.0
+   */
+  public @NotNull String credential() {
+    return this.credential;
+  }
+
+  /**
+   * Computes the credential for the given tokens, without keeping their values.
+   *
+   * @param tokens the authentication-tokens.
+   * @return The {@code SHA-256} checksum of the sorted tokens as an hexadecimal string.
+   * @since 4.1.0
+   */
+  private static @NotNull String credential(final @NotNull String[] tokens) {
+    final var sortedTokens = tokens.clone();
+    Arrays.sort(sortedTokens);
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+      for (final var token : sortedTokens) {
+        digest.update(token.getBytes(StandardCharsets.UTF_8));
+        // The tokens never contain a null-character, so it separates them unambiguously.
+        digest.update((byte) 0);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (final NoSuchAlgorithmException exception) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Selects the token to use for a new request, and reserves a request from its remaining quota.
+   *
+   * @return The value for the request's {@code Authorization} header.
+   * @since 4.1.0
+   */
+  public @NotNull String authorization() {
+    final var now = System.currentTimeMillis();
+    this.lock.lock();
+    try {
+      Token selected = null;
+      for (final var token : this.tokens) {
+        if (selected == null || this.compare(token, selected, now) > 0) {
+          selected = token;
+        }
+      }
+      selected.requests++;
+      if (selected.remaining > 0L && now < selected.resetAtMillis) {
+        selected.remaining--;
+      }
+      return AUTHORIZATION_PREFIX + selected.value;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Compares two tokens to decide which one is preferred for the next request.
+   *
+   * @param first the first token.
+   * @param second the second token.
+   * @param now the current epoch-time in milliseconds.
+   * @return A positive number if the first token is preferred, a negative number or zero otherwise.
+   * @since 4.1.0
+   */
+  private int compare(final @NotNull Token first, final @NotNull Token second, final long now) {
+    if (first.revoked != second.revoked) {
+      return first.revoked ? -1 : 1;
+    }
+    final var firstRemaining = first.availableRemaining(now);
+    final var secondRemaining = second.availableRemaining(now);
+    if (firstRemaining == 0L && secondRemaining == 0L) {
+      // Every token is exhausted, the one restored first is preferred.
+      return Long.compare(second.resetAtMillis, first.resetAtMillis);
+    }
+    if (firstRemaining != secondRemaining) {
+      return Long.compare(firstRemaining, secondRemaining);
+    }
+    // Ties are broken by the least used token, so the requests are spread while the quotas are unknown.
+    return Long.compare(second.requests, first.requests);
+  }
+
+  /**
+   * Updates the quota of the token used by the given response's request with its rate-limit headers.
+   *
+   * @param response the received response.
+   * @since 4.1.0
+   */
+  public void update(final @NotNull HttpResponse<?> response) {
+    final var authorization = response.request().headers().firstValue("Authorization").orElse(null);
+    if (authorization == null || !authorization.startsWith(AUTHORIZATION_PREFIX)) {
+      return;
+    }
+    final var token = this.tokensByValue.get(authorization.substring(AUTHORIZATION_PREFIX.length()));
+    if (token == null) {
+      return;
+    }
+    final var headers = response.headers();
+    final var remainingHeader = RateLimitHeaders.longValue(headers, "X-RateLimit-Remaining");
+    final var resetHeader = RateLimitHeaders.longValue(headers, "X-RateLimit-Reset");
+    this.lock.lock();
+    try {
+      if (response.statusCode() == 401) {
+        token.revoked = true;
+        return;
+      }
+      if (remainingHeader.isEmpty() || resetHeader.isEmpty()) {
+        return;
+      }
+      final var resetAtMillis = TimeUnit.SECONDS.toMillis(resetHeader.getAsLong());
+      // Responses can arrive out of order, a newer window always wins, and inside a window the lowest quota does.
+      if (resetAtMillis > token.resetAtMillis || remainingHeader.getAsLong() < token.remaining) {
+        token.remaining = remainingHeader.getAsLong();
+      }
+      token.resetAtMillis = Math.max(token.resetAtMillis, resetAtMillis);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the usage of every token of this pool, in the order they were provided.
+   *
+   * @return A list with the {@link TokenUsage} of every token.
+   * @since 4.1.0
+   */
+  public @NotNull List<@NotNull TokenUsage> usage() {
+    this.lock.lock();
+    try {
+      final var usage = new ArrayList<TokenUsage>(this.tokens.length);
+      for (var i = 0; i < this.tokens.length; i++) {
+        final var token = this.tokens[i];
+        usage.add(new TokenUsage(i, token.requests, token.remaining, token.resetAtMillis, token.revoked));
+      }
+      return usage;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Represents a token of the pool with its known quota. Must be accessed holding the pool's lock.
+   *
+   * @since 4.1.0
+   */
+  private static final class Token {
+    private final String value;
+    private long requests;
+    private long remaining = -1L;
+    private long resetAtMillis;
+    private boolean revoked;
+
+    private Token(final @NotNull String value) {
+      this.value = value;
+    }
+
+    /**
+     * Returns the token's remaining quota, considering it unlimited if it's unknown or was already restored.
+     *
+     * @param now the current epoch-time in milliseconds.
+     * @return The remaining quota.
+     * @since 4.1.0
+     */
+    private long availableRemaining(final long now) {
+      return (this.remaining < 0L || now >= this.resetAtMillis) ? Long.MAX_VALUE : this.remaining;
+    }
+  }
+}
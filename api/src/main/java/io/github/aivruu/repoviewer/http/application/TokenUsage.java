@@ -0,0 +1,29 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.application;
+
+/**
+ * Represents the usage of a token of a {@link TokenPool}, the token itself is not included so it can be logged safely.
+ *
+ * @param index the token's position in the pool.
+ * @param requests the amount of requests made with the token.
+ * @param remaining the token's remaining quota, or {@code -1} if it's unknown.
+ * @param resetAtMillis the epoch-time (in milliseconds) when the token's quota is restored, or {@code 0} if unknown.
+ * @param revoked whether the token was rejected by the API as invalid.
+ * @since 4.1.0
+ */
+public record TokenUsage(int index, long requests, long remaining, long resetAtMillis, boolean revoked) {}
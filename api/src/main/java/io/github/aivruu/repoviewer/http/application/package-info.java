@@ -0,0 +1,7 @@
+/**
+ * Provides access to the components that control how the requests are paced, limited, short-circuited, sent, hedged,
+ * retried, authenticated, shared and decompressed.
+ *
+ * @since 4.1.0
+ */
+package io.github.aivruu.repoviewer.http.application;
\ No newline at end of file
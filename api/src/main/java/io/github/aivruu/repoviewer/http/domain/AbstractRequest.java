@@ -17,16 +17,29 @@
 package io.github.aivruu.repoviewer.http.domain;
 
 import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import io.github.aivruu.repoviewer.cache.application.AggregateCache;
+import io.github.aivruu.repoviewer.cache.application.ConditionalResponseCache;
 import io.github.aivruu.repoviewer.executor.application.ExecutorHelper;
+import io.github.aivruu.repoviewer.http.application.CircuitBreaker;
+import io.github.aivruu.repoviewer.http.application.ConcurrencyLimiter;
+import io.github.aivruu.repoviewer.http.application.HedgePolicy;
+import io.github.aivruu.repoviewer.http.application.RateLimitScheduler;
+import io.github.aivruu.repoviewer.http.application.RequestCoalescer;
+import io.github.aivruu.repoviewer.http.application.ResponseCompression;
+import io.github.aivruu.repoviewer.http.application.RetryPolicy;
+import io.github.aivruu.repoviewer.http.application.TokenPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -50,6 +63,7 @@ public abstract class AbstractRequest<A extends AggregateRoot> {
   protected final URI uri;
   protected final HttpClient client;
   protected final int timeout;
+  protected final RequestOptions options;
 
   /**
    * Creates a new {@link AbstractRequest} with the given parameters.
@@ -60,9 +74,25 @@ public abstract class AbstractRequest<A extends AggregateRoot> {
    * @since 4.0.0
    */
   protected AbstractRequest(final @NotNull URI uri, final @Nullable HttpClient client, final int timeout) {
+    this(uri, client, timeout, null);
+  }
+
+  /**
+   * Creates a new {@link AbstractRequest} with the given parameters.
+   *
+   * @param uri the url for the request.
+   * @param client the {@link HttpClient} to use, {@code null} for use {@link #DEFAULT_CLIENT}.
+   * @param timeout the max-timeout for the request.
+   * @param options the {@link RequestOptions} to use, {@code null} for use {@link RequestOptions#DEFAULT}.
+   * @since 4.1.0
+   */
+  protected AbstractRequest(
+    final @NotNull URI uri, final @Nullable HttpClient client, final int timeout, final @Nullable RequestOptions options
+  ) {
     this.uri = uri;
     this.client = (client == null) ? DEFAULT_CLIENT : client;
     this.timeout = timeout;
+    this.options = (options == null) ? RequestOptions.DEFAULT : options;
   }
 
   /**
@@ -95,9 +125,38 @@ public abstract class AbstractRequest<A extends AggregateRoot> {
     return this.timeout;
   }
 
+  /**
+   * Returns the {@link RequestOptions} used for this request.
+   *
+   * @return The request's options.
+   * @since 4.1.0
+   */
+  public final @NotNull RequestOptions options() {
+    return this.options;
+  }
+
+  /**
+   * Returns the {@link AggregateRoot} type provided by this request, used as part of the {@link AggregateCache}'s
+   * keys. Implementations should override this method to provide their specific type.
+   *
+   * @return The aggregate-root's type.
+   * @since 4.1.0
+   */
+  public @NotNull Class<? extends AggregateRoot> aggregateType() {
+    return AggregateRoot.class;
+  }
+
   /**
    * Makes a request to the provided url and handles it asynchronously to provide a {@link RequestResponseStatus}
    * based-on the request's response's status-code.
+   * <br>
+   * If an {@link AggregateCache} is defined and it has a non-expired aggregate-root for this url, no request is made.
+   * If a {@link RequestCoalescer} is defined, concurrent calls for this url will share the same in-flight request.
+   * If a {@link RateLimitScheduler} is defined, the request is paced according to the API's rate-limit quota.
+   * If a {@link RetryPolicy} is defined, the request is sent again when it fails due to a transient failure.
+   * If a {@link HedgePolicy} is defined, a second request is sent when the first one takes longer than usual.
+   * If a {@link ConcurrencyLimiter} is defined, the request waits for a permit, or is shed if it can't get one.
+   * If a {@link CircuitBreaker} is defined, the request is short-circuited without being sent while its host fails.
    *
    * @return A {@link CompletableFuture} with a {@link RequestResponseStatus}.
    * @see #request()
@@ -105,31 +164,230 @@ public abstract class AbstractRequest<A extends AggregateRoot> {
    * @since 4.0.0
    */
   public final @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> requestAndHandle() {
-    final var future = this.request();
+    final var aggregateCache = this.options.aggregateCache();
+    if (aggregateCache != null) {
+      final A cachedAggregateRoot = aggregateCache.get(this.uri, this.aggregateType(), this.credential());
+      if (cachedAggregateRoot != null) {
+        return CompletableFuture.completedFuture(RequestResponseStatus.valid(cachedAggregateRoot));
+      }
+    }
+    final var coalescer = this.options.coalescer();
+    return (coalescer == null) ? this.requestAndProcess()
+      : coalescer.coalesce(this.uri, this.aggregateType(), this.credential(), this::requestAndProcess);
+  }
+
+  /**
+   * Returns the credential used to key this request's cached data and in-flight requests.
+   *
+   * @return The {@link TokenPool#credential()}, or {@code null} if the request is anonymous.
+   * @since 4.1.0
+   */
+  private @Nullable String credential() {
+    final var tokenPool = this.options.tokenPool();
+    return (tokenPool == null) ? null : tokenPool.credential();
+  }
+
+  /**
+   * Makes the request and provides its {@link RequestResponseStatus}.
+   *
+   * @return A {@link CompletableFuture} with a {@link RequestResponseStatus}.
+   * @see #attempt(int, boolean)
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> requestAndProcess() {
+    final var retryPolicy = this.options.retryPolicy();
+    // The request is recorded once, the retries and the rate-limit's requeues are part of the same request.
+    if (retryPolicy != null) {
+      retryPolicy.recordRequest();
+    }
+    return this.attempt(0, false);
+  }
+
+  /**
+   * Makes an attempt to send the request and provides its {@link RequestResponseStatus}.
+   * <br>
+   * If a {@link CircuitBreaker} is defined and the host's circuit is open, the request is not sent and provides a
+   * {@link RequestResponseStatus#shortCircuited()} immediately. If a {@link RateLimitScheduler} is defined, the
+   * request is sent once the scheduler provides a permit, or is not sent at all and provides a
+   * {@link RequestResponseStatus#forbidden()} if the quota won't be restored soon enough.
+   *
+   * @param attempt the attempt's number, starting at zero.
+   * @param requeued whether this request was already queued again after a rate-limited response.
+   * @return A {@link CompletableFuture} with a {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> attempt(
+    final int attempt, final boolean requeued
+  ) {
+    final var circuitBreaker = this.options.circuitBreaker();
+    if (circuitBreaker != null && !circuitBreaker.allows(this.uri)) {
+      return CompletableFuture.completedFuture(RequestResponseStatus.shortCircuited());
+    }
+    final var rateLimitScheduler = this.options.rateLimitScheduler();
+    if (rateLimitScheduler == null) {
+      return this.limitAndProcess(attempt, requeued);
+    }
+    return rateLimitScheduler.acquire().thenCompose(permitted -> permitted
+      ? this.limitAndProcess(attempt, requeued)
+      : CompletableFuture.completedFuture(RequestResponseStatus.forbidden()));
+  }
+
+  /**
+   * Sends the request and processes its response once a permit is acquired from the {@link ConcurrencyLimiter}, or
+   * provides a {@link RequestResponseStatus#shed()} if it couldn't be acquired.
+   *
+   * @param attempt the attempt's number, starting at zero.
+   * @param requeued whether this request was already queued again after a rate-limited response.
+   * @return A {@link CompletableFuture} with a {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> limitAndProcess(
+    final int attempt, final boolean requeued
+  ) {
+    final var concurrencyLimiter = this.options.concurrencyLimiter();
+    if (concurrencyLimiter == null) {
+      return this.sendAndProcess(attempt, requeued);
+    }
+    return concurrencyLimiter.acquire().thenCompose(permitted -> permitted
+      ? this.sendAndProcess(attempt, requeued)
+      : CompletableFuture.completedFuture(RequestResponseStatus.shed()));
+  }
+
+  /**
+   * Sends the request and processes its response.
+   * <br>
+   * If the response was rejected due to the rate-limit, the request is queued again once in the
+   * {@link RateLimitScheduler} instead of providing a {@link RequestResponseStatus#forbidden()}. If a
+   * {@link RetryPolicy} is defined and the request failed transiently, it's sent again after the policy's wait.
+   * If a {@link HedgePolicy} is defined, a hedge is sent when the response takes longer than the usual latency.
+   *
+   * @param attempt the attempt's number, starting at zero.
+   * @param requeued whether this request was already queued again after a rate-limited response.
+   * @return A {@link CompletableFuture} with a {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull RequestResponseStatus<@Nullable A>> sendAndProcess(
+    final int attempt, final boolean requeued
+  ) {
+    final var circuitBreaker = this.options.circuitBreaker();
+    // The probe-permit is taken right before sending, so the waits for other permits can't hold it.
+    if (circuitBreaker != null && !circuitBreaker.tryAcquire(this.uri)) {
+      final var concurrencyLimiter = this.options.concurrencyLimiter();
+      if (concurrencyLimiter != null) {
+        concurrencyLimiter.cancel();
+      }
+      return CompletableFuture.completedFuture(RequestResponseStatus.shortCircuited());
+    }
+    final var hedgePolicy = this.options.hedgePolicy();
+    final var startedAt = System.nanoTime();
+    CompletableFuture<HttpResponse<InputStream>> future;
+    try {
+      future = (hedgePolicy == null) ? this.request() : hedgePolicy.hedge(this::request);
+    } catch (final RuntimeException exception) {
+      // A request that can't be built or sent still releases its permits through the failed response's path.
+      future = CompletableFuture.failedFuture(exception);
+    }
     return future.exceptionally(exception -> {
       LOGGER.severe("Unexpected exception when making request to the url: %s with the following message: %s".formatted(
         this.uri.toString(), exception.getMessage()));
       return null;
-    }).thenApply(this::validateAndProvideResponse);
+    }).thenCompose(response -> {
+      final var latency = System.nanoTime() - startedAt;
+      final var concurrencyLimiter = this.options.concurrencyLimiter();
+      if (concurrencyLimiter != null) {
+        // Failed requests and responses that indicate the API's overload reduce the limit.
+        concurrencyLimiter.release(latency,
+          response == null || response.statusCode() == 429 || response.statusCode() >= 500);
+      }
+      if (circuitBreaker != null) {
+        circuitBreaker.record(this.uri, latency, response == null || response.statusCode() >= 500);
+      }
+      final var tokenPool = this.options.tokenPool();
+      if (tokenPool != null && response != null) {
+        tokenPool.update(response);
+      }
+      final var rateLimitScheduler = this.options.rateLimitScheduler();
+      if (rateLimitScheduler != null && response != null && rateLimitScheduler.update(response) && !requeued) {
+        this.closeBody(response);
+        return this.attempt(attempt, true);
+      }
+      final var retryPolicy = this.options.retryPolicy();
+      final var delay = (retryPolicy == null) ? -1L : retryPolicy.delay(response, attempt);
+      if (delay < 0L) {
+        return CompletableFuture.completedFuture(this.process(response));
+      }
+      if (response != null) {
+        this.closeBody(response);
+      }
+      return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+        .thenCompose(ignored -> this.attempt(attempt + 1, requeued));
+    });
+  }
+
+  /**
+   * Validates the given response and provides its {@link RequestResponseStatus}, storing the valid-responses'
+   * aggregate-roots in the defined caches.
+   * <br>
+   * If a {@link ConditionalResponseCache} is defined, the aggregate-root of every valid response is stored using
+   * the response's validators.
+   *
+   * @param response the received response, or {@code null} if the request failed.
+   * @return A {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  private @NotNull RequestResponseStatus<@Nullable A> process(final @Nullable HttpResponse<InputStream> response) {
+    final var responseStatus = this.validateAndProvideResponse(response);
+    final var conditionalCache = this.options.conditionalCache();
+    // Only responses with a body (200 status-code) are stored, a 304 status-code reuses the stored aggregate-root.
+    if (conditionalCache != null && responseStatus.wasValid() && response.statusCode() == 200) {
+      conditionalCache.store(this.uri, this.credential(), response.headers(), responseStatus.result());
+    }
+    final var aggregateCache = this.options.aggregateCache();
+    if (aggregateCache != null && responseStatus.wasValid()) {
+      aggregateCache.put(this.uri, this.aggregateType(), this.credential(), responseStatus.result());
+    }
+    return responseStatus;
   }
 
   /**
    * Makes a request to the specified url using the client and timeout provided.
+   * <br>
+   * The response's body is provided as an {@link InputStream}, so it can be decoded while it's received without
+   * buffering it completely into memory first.
+   * <br>
+   * If a {@link ConditionalResponseCache} is defined, the request will include the validators stored for this url.
+   * If a {@link ResponseCompression} is defined, compressed-responses are accepted and decompressed while read.
+   * If a {@link TokenPool} is defined, the request is authenticated with the token that has the most remaining quota.
    *
    * @return A {@link CompletableFuture} with a {@link HttpResponse}.
    * @since 4.0.0
    */
-  public @NotNull CompletableFuture<@Nullable HttpResponse<String>> request() {
-    final var request = HttpRequest.newBuilder()
+  public @NotNull CompletableFuture<@Nullable HttpResponse<InputStream>> request() {
+    final var requestBuilder = HttpRequest.newBuilder()
       .GET()
       .timeout(Duration.ofSeconds((this.timeout < 0) ? DEFAULT_TIMEOUT_IN_SECONDS : this.timeout))
-      .uri(this.uri)
-      .build();
-    return this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+      .uri(this.uri);
+    final var conditionalCache = this.options.conditionalCache();
+    if (conditionalCache != null) {
+      conditionalCache.prepare(this.uri, this.credential(), requestBuilder);
+    }
+    final var tokenPool = this.options.tokenPool();
+    if (tokenPool != null) {
+      requestBuilder.header("Authorization", tokenPool.authorization());
+    }
+    final var compression = this.options.compression();
+    if (compression == null) {
+      return this.client.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+    requestBuilder.header("Accept-Encoding", ResponseCompression.ACCEPTED_ENCODINGS);
+    return this.client.sendAsync(requestBuilder.build(), compression.bodyHandler());
   }
 
   /**
    * Validates the provided {@link HttpResponse}'s status-code to provide a {@link RequestResponseStatus}.
+   * <br>
+   * The response's body is closed for every status-code other than {@code 200}, in which case the implementations
+   * are responsible to read and close it.
    *
    * @param response the response to process.
    * @return A {@link RequestResponseStatus} which can be:
@@ -139,19 +397,62 @@ public abstract class AbstractRequest<A extends AggregateRoot> {
    * <li>{@link RequestResponseStatus#moved()} for status-code {@code 301}, result is null.</li>
    * <li>{@link RequestResponseStatus#forbidden()} for status-code {@code 403}, result is null.</li>
    * <li>{@link RequestResponseStatus#pending()} for status-code {@code 200}, result is still null.</li>
+   * <li>{@link RequestResponseStatus#valid(AggregateRoot)} for status-code {@code 304}, result is the aggregate-root
+   * stored by the {@link ConditionalResponseCache}, or {@link RequestResponseStatus#invalid()} if there's none.</li>
    * </ul>
    * @since 4.0.0
    */
   public @NotNull RequestResponseStatus<@Nullable A> validateAndProvideResponse(
-    final @Nullable HttpResponse<String> response
+    final @Nullable HttpResponse<InputStream> response
   ) {
-    return (response == null) ? RequestResponseStatus.invalid() : switch (response.statusCode()) {
+    if (response == null) {
+      return RequestResponseStatus.invalid();
+    }
+    final RequestResponseStatus<A> responseStatus = switch (response.statusCode()) {
       case 401 -> RequestResponseStatus.unauthorized();
       case 301 -> RequestResponseStatus.moved();
       case 403 -> RequestResponseStatus.forbidden();
       case 200 -> RequestResponseStatus.pending();
+      case 304 -> this.provideRevalidatedResponse();
       default -> RequestResponseStatus.invalid();
     };
+    if (!responseStatus.wasPending()) {
+      // Bodies that won't be read must be closed to release the connection.
+      this.closeBody(response);
+    }
+    return responseStatus;
+  }
+
+  /**
+   * Closes the given response's body, discarding any unread data.
+   *
+   * @param response the response to close.
+   * @since 4.1.0
+   */
+  private void closeBody(final @NotNull HttpResponse<InputStream> response) {
+    try {
+      response.body().close();
+    } catch (final IOException exception) {
+      LOGGER.warning("Unable to close the response's body for the url: %s with the following message: %s".formatted(
+        this.uri.toString(), exception.getMessage()));
+    }
+  }
+
+  /**
+   * Provides the aggregate-root stored by the {@link ConditionalResponseCache} for this url after a {@code 304}
+   * status-code was received.
+   *
+   * @return A {@link RequestResponseStatus#valid(AggregateRoot)} with the stored aggregate-root, or
+   * {@link RequestResponseStatus#invalid()} if there's no cache or stored aggregate-root.
+   * @since 4.1.0
+   */
+  private @NotNull RequestResponseStatus<@Nullable A> provideRevalidatedResponse() {
+    final var conditionalCache = this.options.conditionalCache();
+    if (conditionalCache == null) {
+      return RequestResponseStatus.invalid();
+    }
+    final A aggregateRoot = conditionalCache.revalidated(this.uri, this.credential());
+    return (aggregateRoot == null) ? RequestResponseStatus.invalid() : RequestResponseStatus.valid(aggregateRoot);
   }
 
   /**
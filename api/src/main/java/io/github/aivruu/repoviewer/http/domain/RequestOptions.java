@@ -0,0 +1,86 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.domain;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.cache.application.AggregateCache;
+import io.github.aivruu.repoviewer.cache.application.ConditionalResponseCache;
+import io.github.aivruu.repoviewer.http.application.CircuitBreaker;
+import io.github.aivruu.repoviewer.http.application.ConcurrencyLimiter;
+import io.github.aivruu.repoviewer.http.application.HedgePolicy;
+import io.github.aivruu.repoviewer.http.application.RateLimitScheduler;
+import io.github.aivruu.repoviewer.http.application.RequestCoalescer;
+import io.github.aivruu.repoviewer.http.application.ResponseCompression;
+import io.github.aivruu.repoviewer.http.application.RetryPolicy;
+import io.github.aivruu.repoviewer.http.application.TokenPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Holds the optional components used by an {@link AbstractRequest} during the request's processing.
+ *
+ * @param conditionalCache the {@link ConditionalResponseCache} to use for conditional-requests, or {@code null}.
+ * @param aggregateCache the {@link AggregateCache} to consult before making the request, or {@code null}.
+ * @param coalescer the {@link RequestCoalescer} used to share concurrent identical-requests, or {@code null}.
+ * @param projection the optional-fields to decode, or {@code null} to decode all of them.
+ * @param compression the {@link ResponseCompression} used to negotiate compressed-responses, or {@code null}.
+ * @param rateLimitScheduler the {@link RateLimitScheduler} used to pace the requests, or {@code null}.
+ * @param retryPolicy the {@link RetryPolicy} used to send again the requests that failed transiently, or {@code null}.
+ * @param hedgePolicy the {@link HedgePolicy} used to send a hedge for the slow requests, or {@code null}.
+ * @param concurrencyLimiter the {@link ConcurrencyLimiter} used to bound the requests in-flight, or {@code null}.
+ * @param circuitBreaker the {@link CircuitBreaker} used to short-circuit the requests to failing hosts, or {@code null}.
+ * @param tokenPool the {@link TokenPool} that provides the requests' authentication-tokens, or {@code null}.
+ * @since 4.1.0
+ */
+public record RequestOptions(
+  @Nullable ConditionalResponseCache conditionalCache, @Nullable AggregateCache aggregateCache,
+  @Nullable RequestCoalescer coalescer, @Nullable Set<AggregateField> projection,
+  @Nullable ResponseCompression compression, @Nullable RateLimitScheduler rateLimitScheduler,
+  @Nullable RetryPolicy retryPolicy, @Nullable HedgePolicy hedgePolicy,
+  @Nullable ConcurrencyLimiter concurrencyLimiter, @Nullable CircuitBreaker circuitBreaker,
+  @Nullable TokenPool tokenPool
+) {
+  /** A {@link RequestOptions} object without any additional-component defined. */
+  public static final RequestOptions DEFAULT =
+    new RequestOptions(null, null, null, null, null, null, null, null, null, null, null);
+
+  /**
+   * Creates a new {@link RequestOptions} with the given parameters.
+   *
+   * @throws IllegalArgumentException if a partial-projection is used alongside any cache or coalescer, as their
+   * aggregate-roots are shared with requests that may expect all the fields.
+   * @since 4.1.0
+   */
+  public RequestOptions {
+    if (projection != null && !projection.containsAll(AggregateField.ALL)
+      && (conditionalCache != null || aggregateCache != null || coalescer != null)) {
+      throw new IllegalArgumentException("Projected requests cannot share caches or in-flight requests.");
+    }
+  }
+
+  /**
+   * Returns the optional-fields to decode.
+   *
+   * @return The projection, {@link AggregateField#ALL} if none was defined.
+   * @since 4.1.0
+   */
+  public @NotNull Set<AggregateField> fields() {
+    return (this.projection == null) ? AggregateField.ALL : this.projection;
+  }
+}
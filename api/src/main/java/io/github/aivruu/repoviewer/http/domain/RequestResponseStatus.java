@@ -41,6 +41,10 @@ public record RequestResponseStatus<A extends AggregateRoot>(byte status, @Nulla
   public static final byte REQUEST_FORBIDDEN_RESPONSE = 4;
   /** The response wasn't provided, or the status-code type is 'not-found' (404). */
   public static final byte REQUEST_INVALID_RESPONSE = 5;
+  /** The request wasn't sent as the concurrency-limit was reached, and it couldn't wait for a permit. */
+  public static final byte REQUEST_SHED_RESPONSE = 6;
+  /** The request wasn't sent as the host's circuit is open, so a cached-result can be used immediately. */
+  public static final byte REQUEST_SHORT_CIRCUITED_RESPONSE = 7;
 
   /**
    * Creates a new {@link RequestResponseStatus} with the {@link #REQUEST_VALID_RESPONSE} code and the
@@ -110,6 +114,28 @@ public record RequestResponseStatus<A extends AggregateRoot>(byte status, @Nulla
     return new RequestResponseStatus<>(REQUEST_INVALID_RESPONSE, null);
   }
 
+  /**
+   * Creates a new {@link RequestResponseStatus} with the {@link #REQUEST_SHED_RESPONSE} code.
+   *
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return A {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  public static <A extends AggregateRoot> @NotNull RequestResponseStatus<@Nullable A> shed() {
+    return new RequestResponseStatus<>(REQUEST_SHED_RESPONSE, null);
+  }
+
+  /**
+   * Creates a new {@link RequestResponseStatus} with the {@link #REQUEST_SHORT_CIRCUITED_RESPONSE} code.
+   *
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return A {@link RequestResponseStatus}.
+   * @since 4.1.0
+   */
+  public static <A extends AggregateRoot> @NotNull RequestResponseStatus<@Nullable A> shortCircuited() {
+    return new RequestResponseStatus<>(REQUEST_SHORT_CIRCUITED_RESPONSE, null);
+  }
+
   /**
    * Returns whether the status-code was {@link #REQUEST_VALID_RESPONSE}.
    *
@@ -169,4 +195,24 @@ public record RequestResponseStatus<A extends AggregateRoot>(byte status, @Nulla
   public boolean wasInvalid() {
     return this.status == REQUEST_INVALID_RESPONSE;
   }
+
+  /**
+   * Returns whether the status-code was {@link #REQUEST_SHED_RESPONSE}.
+   *
+   * @return {@code true} if the code was {@link #REQUEST_SHED_RESPONSE}, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean wasShed() {
+    return this.status == REQUEST_SHED_RESPONSE;
+  }
+
+  /**
+   * Returns whether the status-code was {@link #REQUEST_SHORT_CIRCUITED_RESPONSE}.
+   *
+   * @return {@code true} if the code was {@link #REQUEST_SHORT_CIRCUITED_RESPONSE}, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean wasShortCircuited() {
+    return this.status == REQUEST_SHORT_CIRCUITED_RESPONSE;
+  }
 }
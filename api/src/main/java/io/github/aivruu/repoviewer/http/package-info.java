@@ -1,5 +1,5 @@
 /**
- * Provides access to the domain-layer for requests related-classes.
+ * Provides access to the domain and application layers for requests related-classes.
  *
  * @since 4.0.0
  */
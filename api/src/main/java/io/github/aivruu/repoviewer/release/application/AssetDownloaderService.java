@@ -17,10 +17,23 @@
 package io.github.aivruu.repoviewer.release.application;
 
 import io.github.aivruu.repoviewer.download.application.DownloadOperationStatus;
+import io.github.aivruu.repoviewer.download.application.DownloadOptions;
 import io.github.aivruu.repoviewer.download.application.DownloaderService;
+import io.github.aivruu.repoviewer.release.domain.AssetValueObject;
+import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * This class allows download any asset from a {@link io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot}.
@@ -28,6 +41,8 @@ import java.io.File;
  * @since 4.0.0
  */
 public final class AssetDownloaderService {
+  /** The algorithm of the checksums provided by the assets. */
+  private static final String SHA_256_DIGEST_ALGORITHM = "SHA-256";
   private final DownloaderService downloaderService;
 
   /**
@@ -51,17 +66,233 @@ public final class AssetDownloaderService {
    * <ul>
    * <li>{@link DownloadOperationStatus#error()} if index is not valid, result is {@code -1}.</li>
    * <li>{@link DownloadOperationStatus#unknown()} if none bytes were read, result is {@code -2}.</li>
-   * <li>{@link DownloadOperationStatus#downloaded(long)} if the file was downloaded, result are the read bytes amount.</li>
+   * <li>{@link DownloadOperationStatus#downloaded(long)} if the file was downloaded, result are the read bytes
+   * amount.</li>
    * </ul>
    * @see DownloaderService#toDirectory(File, String, String)
    * @since 4.0.0
    */
-  public @NotNull DownloadOperationStatus download(final @NotNull String[] assets, final @NotNull File directory, final int index) {
+  public @NotNull DownloadOperationStatus download(
+    final @NotNull AssetValueObject[] assets, final @NotNull File directory, final int index
+  ) {
     if (index < 1 || index > assets.length) {
       return DownloadOperationStatus.error();
     }
-    final var sections = assets[index - 1].split(":", 2);
-    final long readBytesAmount = this.downloaderService.toDirectory(directory, sections[0], sections[1].trim()).join();
+    final var asset = assets[index - 1];
+    final long readBytesAmount = this.downloaderService.toDirectory(directory, asset.name(), asset.url()).join();
     return (readBytesAmount == 0) ? DownloadOperationStatus.unknown() : DownloadOperationStatus.downloaded(readBytesAmount);
   }
+
+  /**
+   * Downloads the asset with the specified-index from the provided array using the given options, and saves it at
+   * the given directory.
+   *
+   * @param assets the release's published assets.
+   * @param directory the asset's destination directory.
+   * @param index the asset's position.
+   * @param options the {@link DownloadOptions} to use.
+   * @return A {@link DownloadOperationStatus} which can be:
+   * <ul>
+   * <li>{@link DownloadOperationStatus#error()} if index is not valid or the download failed.</li>
+   * <li>{@link DownloadOperationStatus#unknown()} if none bytes were read.</li>
+   * <li>{@link DownloadOperationStatus#mismatch(String)} if the asset's checksum didn't match the expected one.</li>
+   * <li>{@link DownloadOperationStatus#upToDate(long, String)} if the asset was already downloaded in sync-mode.</li>
+   * <li>{@link DownloadOperationStatus#downloaded(long, String)} if the file was downloaded, with its checksum if
+   * it was requested.</li>
+   * </ul>
+   * @see #downloadAsset(AssetValueObject, File, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull DownloadOperationStatus download(
+    final @NotNull AssetValueObject[] assets, final @NotNull File directory, final int index,
+    final @NotNull DownloadOptions options
+  ) {
+    if (index < 1 || index > assets.length) {
+      return DownloadOperationStatus.error();
+    }
+    return this.downloadAsset(assets[index - 1], directory, options).join();
+  }
+
+  /**
+   * Downloads the given asset using the provided options, and saves it at the given directory.
+   * <br>
+   * The asset's known properties are used to adapt the options: the assets smaller than
+   * {@link DownloaderService#MINIMUM_SEGMENTED_DOWNLOAD_SIZE} are downloaded using a single stream without checking
+   * their size first, the asset's {@code SHA-256} checksum is verified if no other digest is requested, and the
+   * downloaded file is deleted if its size is not the asset's one.
+   *
+   * @param asset the {@link AssetValueObject} to download.
+   * @param directory the asset's destination directory.
+   * @param options the {@link DownloadOptions} to use.
+   * @return A {@link CompletableFuture} with the asset's {@link DownloadOperationStatus}.
+   * @see DownloaderService#download(File, String, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadOperationStatus> downloadAsset(
+    final @NotNull AssetValueObject asset, final @NotNull File directory, final @NotNull DownloadOptions options
+  ) {
+    final var file = new File(directory, asset.name());
+    final CompletableFuture<DownloadOperationStatus> download;
+    try {
+      var assetOptions = options;
+      if (assetOptions.segments() > 1 && asset.size() >= 0L
+        && asset.size() < DownloaderService.MINIMUM_SEGMENTED_DOWNLOAD_SIZE) {
+        assetOptions = assetOptions.withSegments(1);
+      }
+      final var checksum = asset.sha256();
+      if (assetOptions.digestAlgorithm() == null && checksum != null) {
+        assetOptions = assetOptions.withExpectedDigest(SHA_256_DIGEST_ALGORITHM, checksum);
+      }
+      download = this.downloaderService.download(file, asset.url(), assetOptions);
+    } catch (final RuntimeException exception) {
+      // Any synchronous failure, such as an invalid url, only fails this asset.
+      return CompletableFuture.completedFuture(DownloadOperationStatus.error());
+    }
+    return download.exceptionally(exception -> DownloadOperationStatus.error()).thenApply(status -> {
+      if (!status.wasDownloaded()) {
+        return status;
+      }
+      if (status.result() == 0) {
+        return DownloadOperationStatus.unknown();
+      }
+      if (asset.size() >= 0L && status.result() != asset.size()) {
+        file.delete();
+        return DownloadOperationStatus.error();
+      }
+      return status;
+    });
+  }
+
+  /**
+   * Downloads every asset of the given release whose name matches the filter, and saves them at the given directory.
+   *
+   * @param release the {@link ReleaseAggregateRoot} whose assets are downloaded.
+   * @param directory the assets' destination directory.
+   * @param filter the predicate that the assets' names must match.
+   * @param parallelism the maximum amount of assets downloaded concurrently.
+   * @param options the {@link DownloadOptions} to use for every asset.
+   * @return A {@link CompletableFuture} with the {@link BatchDownloadStatus}.
+   * @see #downloadAll(AssetValueObject[], File, Predicate, int, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull BatchDownloadStatus> downloadAll(
+    final @NotNull ReleaseAggregateRoot release, final @NotNull File directory,
+    final @NotNull Predicate<String> filter, final int parallelism, final @NotNull DownloadOptions options
+  ) {
+    return this.downloadAll(release.assets(), directory, filter, parallelism, options);
+  }
+
+  /**
+   * Downloads every asset from the provided array whose name matches the filter, and saves them at the given
+   * directory.
+   * <br>
+   * The assets are downloaded concurrently, but no more than the given parallelism at the same time, and no thread
+   * is blocked while waiting for them. The failure of an asset doesn't cancel the others.
+   *
+   * @param assets the release's published assets.
+   * @param directory the assets' destination directory.
+   * @param filter the predicate that the assets' names must match.
+   * @param parallelism the maximum amount of assets downloaded concurrently.
+   * @param options the {@link DownloadOptions} to use for every asset.
+   * @return A {@link CompletableFuture} with the {@link BatchDownloadStatus}, which provides the
+   * {@link DownloadOperationStatus} of every matched asset.
+   * @throws IllegalArgumentException if the parallelism is not positive.
+   * @see #downloadAsset(AssetValueObject, File, DownloadOptions)
+   * @since 4.1.0
+   */
+  public @NotNull CompletableFuture<@NotNull BatchDownloadStatus> downloadAll(
+    final @NotNull AssetValueObject[] assets, final @NotNull File directory,
+    final @NotNull Predicate<String> filter, final int parallelism, final @NotNull DownloadOptions options
+  ) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism must be positive.");
+    }
+    final List<AssetValueObject> matchedAssets = new ArrayList<>();
+    for (final var asset : assets) {
+      if (filter.test(asset.name())) {
+        matchedAssets.add(asset);
+      }
+    }
+    final var statuses = new DownloadOperationStatus[matchedAssets.size()];
+    final var nextAsset = new AtomicInteger();
+    final var workers = new CompletableFuture<?>[Math.min(parallelism, matchedAssets.size())];
+    for (var i = 0; i < workers.length; i++) {
+      workers[i] = this.downloadNext(matchedAssets, statuses, nextAsset, directory, options);
+    }
+    return CompletableFuture.allOf(workers).thenApply(ignored -> {
+      final var result = new LinkedHashMap<String, DownloadOperationStatus>();
+      for (var i = 0; i < statuses.length; i++) {
+        result.put(matchedAssets.get(i).name(), statuses[i]);
+      }
+      return new BatchDownloadStatus(result);
+    });
+  }
+
+  /**
+   * Downloads the next pending asset, and continues with the following one once it's downloaded, until there are no
+   * more pending assets.
+   * <br>
+   * The downloads already completed when they're started, such as failures or cached assets, are handled in a loop
+   * instead of a dependent stage, so they can't nest on the stack once per asset.
+   *
+   * @param assets the matched assets.
+   * @param statuses the array where every asset's status is stored at its position.
+   * @param nextAsset the position of the next pending asset.
+   * @param directory the assets' destination directory.
+   * @param options the {@link DownloadOptions} to use for every asset.
+   * @return A {@link CompletableFuture} completed once there are no more pending assets.
+   * @since 4.1.0
+   */
+  private @NotNull CompletableFuture<@NotNull Void> downloadNext(
+    final @NotNull List<AssetValueObject> assets, final @NotNull DownloadOperationStatus[] statuses,
+    final @NotNull AtomicInteger nextAsset, final @NotNull File directory, final @NotNull DownloadOptions options
+  ) {
+    while (true) {
+      final var index = nextAsset.getAndIncrement();
+      if (index >= assets.size()) {
+        return CompletableFuture.completedFuture(null);
+      }
+      final var download = this.downloadAsset(assets.get(index), directory, options)
+        .exceptionally(exception -> DownloadOperationStatus.error());
+      if (!download.isDone()) {
+        // The following asset is started asynchronously, as the download may complete before the stage is added.
+        return download.thenComposeAsync(status -> {
+          statuses[index] = status;
+          return this.downloadNext(assets, statuses, nextAsset, directory, options);
+        });
+      }
+      statuses[index] = download.join();
+    }
+  }
+
+  /**
+   * Creates a filter that matches the assets' names with the given glob-pattern, such as {@code *.jar} or
+   * {@code app-{linux,macos}-*}.
+   *
+   * @param glob the glob-pattern.
+   * @return A {@link Predicate} for the assets' names.
+   * @see java.nio.file.FileSystem#getPathMatcher(String)
+   * @since 4.1.0
+   */
+  public static @NotNull Predicate<String> globFilter(final @NotNull String glob) {
+    final var matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    return name -> {
+      try {
+        return matcher.matches(Path.of(name));
+      } catch (final InvalidPathException exception) {
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Creates a filter that matches the assets' complete names with the given regular-expression.
+   *
+   * @param regex the regular-expression.
+   * @return A {@link Predicate} for the assets' names.
+   * @since 4.1.0
+   */
+  public static @NotNull Predicate<String> regexFilter(final @NotNull String regex) {
+    return Pattern.compile(regex).asMatchPredicate();
+  }
 }
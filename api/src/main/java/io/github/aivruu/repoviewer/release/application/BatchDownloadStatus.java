@@ -0,0 +1,99 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.release.application;
+
+import io.github.aivruu.repoviewer.download.application.DownloadOperationStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Provides the statuses of the assets downloaded in a batch by the {@link AssetDownloaderService}.
+ *
+ * @param statuses the {@link DownloadOperationStatus} of every matched asset by its name, in the release's order.
+ * @since 4.1.0
+ */
+public record BatchDownloadStatus(@NotNull Map<String, DownloadOperationStatus> statuses) {
+  /**
+   * Creates a new {@link BatchDownloadStatus} with the given parameters.
+   *
+   * @since 4.1.0
+   */
+  public BatchDownloadStatus {
+    statuses = Collections.unmodifiableMap(new LinkedHashMap<>(statuses));
+  }
+
+  /**
+   * Returns whether every matched asset was downloaded, or was already up to date.
+   *
+   * @return {@code true} if every asset was downloaded or up to date, {@code false} otherwise.
+   * @since 4.1.0
+   */
+  public boolean wasDownloaded() {
+    return this.downloaded() + this.upToDate() == this.statuses.size();
+  }
+
+  /**
+   * Returns the amount of assets that were downloaded.
+   *
+   * @return The downloaded assets-amount.
+   * @since 4.1.0
+   */
+  public int downloaded() {
+    var downloaded = 0;
+    for (final var status : this.statuses.values()) {
+      if (status.wasDownloaded()) {
+        downloaded++;
+      }
+    }
+    return downloaded;
+  }
+
+  /**
+   * Returns the amount of assets that weren't downloaded because they were already up to date.
+   *
+   * @return The up to date assets-amount.
+   * @since 4.1.0
+   */
+  public int upToDate() {
+    var upToDate = 0;
+    for (final var status : this.statuses.values()) {
+      if (status.wasUpToDate()) {
+        upToDate++;
+      }
+    }
+    return upToDate;
+  }
+
+  /**
+   * Returns the amount of bytes read for all the downloaded assets.
+   *
+   * @return The read bytes-amount.
+   * @since 4.1.0
+   */
+  public long readBytesAmount() {
+    var readBytesAmount = 0L;
+    for (final var status : this.statuses.values()) {
+      if (status.wasDownloaded()) {
+        readBytesAmount += status.result();
+      }
+    }
+    return readBytesAmount;
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Provides access to the release's assets downloader service.
+ * Provides access to the release's assets downloader service and its batch-download statuses.
  *
  * @since 4.0.0
  */
@@ -0,0 +1,52 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.release.domain;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A value-object that represents an asset published with a GitHub release.
+ *
+ * @param name the asset's file-name.
+ * @param url the asset's download-url.
+ * @param size the asset's size in bytes, or {@code -1} if unknown.
+ * @param contentType the asset's content-type, or {@code null} if unknown.
+ * @param downloadCount the asset's amount of downloads.
+ * @param updatedAt the asset's last update date in ISO-8601 format, or {@code null} if unknown.
+ * @param digest the asset's checksum prefixed by its algorithm (such as {@code sha256:...}), or {@code null} if
+ *               unknown.
+ * @since 4.1.0
+ */
+public record AssetValueObject(
+  @NotNull String name, @NotNull String url, long size, @Nullable String contentType, long downloadCount,
+  @Nullable String updatedAt, @Nullable String digest
+) {
+  /** The prefix of the assets' {@code SHA-256} checksums. */
+  private static final String SHA_256_DIGEST_PREFIX = "sha256:";
+
+  /**
+   * Returns the asset's {@code SHA-256} checksum as an hexadecimal string, if it's provided.
+   *
+   * @return The asset's {@code SHA-256} checksum, or {@code null} if it's unknown or uses other algorithm.
+   * @since 4.1.0
+   */
+  public @Nullable String sha256() {
+    return (this.digest != null && this.digest.startsWith(SHA_256_DIGEST_PREFIX))
+      ? this.digest.substring(SHA_256_DIGEST_PREFIX.length()) : null;
+  }
+}
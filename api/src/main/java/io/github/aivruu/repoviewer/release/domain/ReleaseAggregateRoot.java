@@ -76,11 +76,11 @@ public final class ReleaseAggregateRoot extends AggregateRoot {
   /**
    * Returns the release's assets-array.
    *
-   * @return The assets.
+   * @return The {@link AssetValueObject}s.
    * @see ReleaseValueObject#assets()
    * @since 4.0.0
    */
-  public @NotNull String[] assets() {
+  public @NotNull AssetValueObject[] assets() {
     return this.releaseValueObject.assets();
   }
 
@@ -25,10 +25,12 @@ import org.jetbrains.annotations.NotNull;
  * @param author the release's author.
  * @param tag the release's tag-name.
  * @param name the release's name/title.
- * @param assets the release's included assets.
+ * @param assets the release's included {@link AssetValueObject}s.
  * @since 4.0.0
  */
-public record ReleaseValueObject(@NotNull String author, @NotNull String tag, @NotNull String name, @NotNull String[] assets) {
+public record ReleaseValueObject(
+  @NotNull String author, @NotNull String tag, @NotNull String name, @NotNull AssetValueObject[] assets
+) {
   /**
    * Compares this release's version with the given one using the provided operator-type.
    *
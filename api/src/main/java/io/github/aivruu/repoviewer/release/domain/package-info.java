@@ -1,6 +1,6 @@
 /**
- * Provides access to the release value-object and aggregate-root, and compare-operator enum-type
- * for versions-comparing between releases.
+ * Provides access to the release and asset value-objects, the release aggregate-root, and compare-operator
+ * enum-type for versions-comparing between releases.
  *
  * @since 4.0.0
  */
@@ -0,0 +1,167 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.download.application;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link ArchiveExtractor} against tar archives built in memory.
+ */
+final class ArchiveExtractorTest {
+  private static final byte[] CONTENT = "repo-viewer".getBytes(StandardCharsets.UTF_8);
+  @TempDir
+  private Path directory;
+
+  @Test
+  void skipsRootEntry() throws IOException {
+    final var tar = new TarBuilder()
+      .entry("./", '5', new byte[0])
+      .entry("./docs/", '5', new byte[0])
+      .entry("./docs/README.md", '0', CONTENT)
+      .build();
+    final var entries = new ArrayList<ArchiveEntry>();
+    final var extracted = extract(tar, entries);
+    assertEquals(CONTENT.length, extracted);
+    assertEquals(List.of("./docs/", "./docs/README.md"), entries.stream().map(ArchiveEntry::name).toList());
+    assertArrayEquals(CONTENT, Files.readAllBytes(this.directory.resolve("docs/README.md")));
+  }
+
+  @Test
+  void extractsOldStyleDirectories() throws IOException {
+    final var tar = new TarBuilder()
+      .entry("docs/", '\0', new byte[0])
+      .entry("docs/README.md", '0', CONTENT)
+      .build();
+    final var entries = new ArrayList<ArchiveEntry>();
+    extract(tar, entries);
+    assertTrue(entries.get(0).directory());
+    assertTrue(Files.isDirectory(this.directory.resolve("docs")));
+    assertArrayEquals(CONTENT, Files.readAllBytes(this.directory.resolve("docs/README.md")));
+  }
+
+  @Test
+  void rejectsParentTraversal() {
+    final var tar = new TarBuilder().entry("docs/../../escaped.txt", '0', CONTENT).build();
+    assertThrows(IOException.class, () -> extract(tar, new ArrayList<>()));
+    assertFalse(Files.exists(this.directory.resolveSibling("escaped.txt")));
+  }
+
+  @Test
+  void rejectsAbsoluteNames() {
+    final var name = this.directory.resolveSibling("absolute.txt").toAbsolutePath().toString();
+    final var tar = new TarBuilder().entry(name, '0', CONTENT).build();
+    assertThrows(IOException.class, () -> extract(tar, new ArrayList<>()));
+    assertFalse(Files.exists(Path.of(name)));
+  }
+
+  @Test
+  void usesPaxLongNames() throws IOException {
+    final var name = "pax/" + "a".repeat(150) + ".txt";
+    final var record = " path=" + name + '\n';
+    // The record's length includes its own digits.
+    var length = record.length() + 1;
+    while (length != (Integer.toString(length) + record).length()) {
+      length++;
+    }
+    final var tar = new TarBuilder()
+      .entry("PaxHeader", 'x', (length + record).getBytes(StandardCharsets.UTF_8))
+      .entry("truncated-name", '0', CONTENT)
+      .build();
+    final var entries = new ArrayList<ArchiveEntry>();
+    extract(tar, entries);
+    assertEquals(name, entries.get(0).name());
+    assertArrayEquals(CONTENT, Files.readAllBytes(this.directory.resolve(name)));
+  }
+
+  @Test
+  void usesGnuLongNames() throws IOException {
+    final var name = "gnu/" + "b".repeat(150) + ".txt";
+    final var tar = new TarBuilder()
+      .entry("././@LongLink", 'L', (name + '\0').getBytes(StandardCharsets.UTF_8))
+      .entry("truncated-name", '0', CONTENT)
+      .build();
+    final var entries = new ArrayList<ArchiveEntry>();
+    extract(tar, entries);
+    assertEquals(name, entries.get(0).name());
+    assertArrayEquals(CONTENT, Files.readAllBytes(this.directory.resolve(name)));
+  }
+
+  @Test
+  void rejectsTraversalFromLongNames() {
+    final var tar = new TarBuilder()
+      .entry("././@LongLink", 'L', "../escaped.txt".getBytes(StandardCharsets.UTF_8))
+      .entry("escaped.txt", '0', CONTENT)
+      .build();
+    assertThrows(IOException.class, () -> extract(tar, new ArrayList<>()));
+  }
+
+  private long extract(final byte[] tar, final List<ArchiveEntry> entries) throws IOException {
+    return ArchiveExtractor.extract(new ByteArrayInputStream(tar), ArchiveFormat.TAR, this.directory, entries::add);
+  }
+
+  /**
+   * Builds ustar archives with the given entries.
+   */
+  private static final class TarBuilder {
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    TarBuilder entry(final String name, final char type, final byte[] data) {
+      final var header = new byte[512];
+      final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+      System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, 100));
+      octal(header, 100, 8, 0644);
+      octal(header, 124, 12, data.length);
+      header[156] = (byte) type;
+      System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+      var checksum = 0;
+      for (var i = 0; i < header.length; i++) {
+        checksum += (i >= 148 && i < 156) ? ' ' : (header[i] & 0xFF);
+      }
+      octal(header, 148, 8, checksum);
+      this.outputStream.writeBytes(header);
+      this.outputStream.writeBytes(data);
+      this.outputStream.writeBytes(new byte[(512 - (data.length % 512)) % 512]);
+      return this;
+    }
+
+    byte[] build() {
+      this.outputStream.writeBytes(new byte[1024]);
+      return this.outputStream.toByteArray();
+    }
+
+    private static void octal(final byte[] header, final int offset, final int length, final long value) {
+      final var digits = String.format("%0" + (length - 1) + "o", value);
+      System.arraycopy(digits.getBytes(StandardCharsets.US_ASCII), 0, header, offset, length - 1);
+    }
+  }
+}
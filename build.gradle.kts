@@ -37,6 +37,10 @@ subprojects {
 
   dependencies {
     implementation("org.jetbrains:annotations:26.0.2")
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
   }
 
   tasks {
@@ -44,6 +48,9 @@ subprojects {
       dependsOn("spotlessApply")
       options.compilerArgs.add("-parameters")
     }
+    test {
+      useJUnitPlatform()
+    }
     shadowJar {
       archiveBaseName.set(project.name)
       minimize()
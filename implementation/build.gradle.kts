@@ -2,4 +2,7 @@ dependencies {
   api(project(":repo-viewer-api"))
 
   api(libs.gson)
+  // Optional engine, consumers add jackson-core themselves to select JacksonJsonCodec.
+  compileOnly(libs.jackson.core)
+  testImplementation(libs.jackson.core)
 }
@@ -0,0 +1,78 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure;
+
+import com.google.gson.stream.JsonReader;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import io.github.aivruu.repoviewer.codec.infrastructure.type.ReleaseJsonCodecAdapter;
+import io.github.aivruu.repoviewer.codec.infrastructure.type.RepositoryJsonCodecAdapter;
+import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Set;
+
+/**
+ * A {@link JsonCodec} implementation backed by Gson's streaming {@link JsonReader} and the codec-adapters, this is
+ * the default codec.
+ *
+ * @since 4.1.0
+ */
+public enum GsonJsonCodec implements JsonCodec {
+  INSTANCE;
+
+  @Override
+  public <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull InputStream stream, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    // The reader decodes the stream's UTF-8 bytes while they're consumed, using a pooled byte-buffer.
+    try (final var jsonReader = new JsonReader(new Utf8StreamReader(stream))) {
+      return this.read(type, jsonReader, projection);
+    }
+  }
+
+  @Override
+  public <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull String json, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    try (final var jsonReader = new JsonReader(new StringReader(json))) {
+      return this.read(type, jsonReader, projection);
+    }
+  }
+
+  private <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull JsonReader jsonReader, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    try {
+      if (type == ReleaseAggregateRoot.class) {
+        return type.cast(ReleaseJsonCodecAdapter.INSTANCE.read(jsonReader, projection));
+      }
+      if (type == RepositoryAggregateRoot.class) {
+        return type.cast(RepositoryJsonCodecAdapter.INSTANCE.read(jsonReader, projection));
+      }
+    } catch (final IllegalStateException | NumberFormatException exception) {
+      // Thrown by the reader when a value has an unexpected type.
+      throw new IOException(exception);
+    }
+    throw new IllegalArgumentException("The type %s is not supported by this codec.".formatted(type.getName()));
+  }
+}
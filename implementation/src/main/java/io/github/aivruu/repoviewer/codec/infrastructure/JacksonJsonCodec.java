@@ -0,0 +1,77 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import io.github.aivruu.repoviewer.codec.infrastructure.type.ReleaseJacksonCodecAdapter;
+import io.github.aivruu.repoviewer.codec.infrastructure.type.RepositoryJacksonCodecAdapter;
+import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * A {@link JsonCodec} implementation backed by Jackson's streaming {@link JsonParser}, which decodes the UTF-8 bytes
+ * directly and reuses its internal buffers between parsers.
+ * <p>
+ * Jackson is not a transitive dependency of this library, so {@code com.fasterxml.jackson.core:jackson-core} must be
+ * added to the classpath to use this codec, see {@link JsonCodecHelper#useJackson()}.
+ *
+ * @since 4.1.0
+ */
+public enum JacksonJsonCodec implements JsonCodec {
+  INSTANCE;
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Override
+  public <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull InputStream stream, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    try (final var parser = JSON_FACTORY.createParser(stream)) {
+      return this.read(type, parser, projection);
+    }
+  }
+
+  @Override
+  public <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull String json, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    try (final var parser = JSON_FACTORY.createParser(json)) {
+      return this.read(type, parser, projection);
+    }
+  }
+
+  private <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull JsonParser parser, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    if (type == ReleaseAggregateRoot.class) {
+      return type.cast(ReleaseJacksonCodecAdapter.read(parser, projection));
+    }
+    if (type == RepositoryAggregateRoot.class) {
+      return type.cast(RepositoryJacksonCodecAdapter.read(parser, projection));
+    }
+    throw new IllegalArgumentException("The type %s is not supported by this codec.".formatted(type.getName()));
+  }
+}
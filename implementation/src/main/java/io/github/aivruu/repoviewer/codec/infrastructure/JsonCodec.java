@@ -0,0 +1,102 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Represents a JSON-engine able to decode the requests' responses into {@link AggregateRoot}s. The engine used by
+ * the requests is selected through {@link JsonCodecHelper#codec(JsonCodec)}.
+ *
+ * @since 4.1.0
+ */
+public interface JsonCodec {
+  /**
+   * Decodes the given json-stream into the requested aggregate-root type, the stream is closed afterward.
+   *
+   * @param type the aggregate-root's type.
+   * @param stream the json's UTF-8 encoded stream.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The decoded aggregate-root, or {@code null} if the json is {@code null} or lacks required-fields.
+   * @throws IOException if the stream cannot be read or the json is malformed.
+   * @throws IllegalArgumentException if the aggregate-root type is not supported by this codec.
+   * @see #read(Class, InputStream, Set)
+   * @since 4.1.0
+   */
+  default <A extends AggregateRoot> @Nullable A read(final @NotNull Class<A> type, final @NotNull InputStream stream)
+    throws IOException {
+    return this.read(type, stream, AggregateField.ALL);
+  }
+
+  /**
+   * Decodes the given json-stream into the requested aggregate-root type, only decoding the optional-fields included
+   * in the projection. The stream is closed afterward.
+   *
+   * @param type the aggregate-root's type.
+   * @param stream the json's UTF-8 encoded stream.
+   * @param projection the optional-fields to decode.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The decoded aggregate-root, or {@code null} if the json is {@code null} or lacks required-fields.
+   * @throws IOException if the stream cannot be read or the json is malformed.
+   * @throws IllegalArgumentException if the aggregate-root type is not supported by this codec.
+   * @since 4.1.0
+   */
+  <A extends AggregateRoot> @Nullable A read(
+    @NotNull Class<A> type, @NotNull InputStream stream, @NotNull Set<AggregateField> projection
+  ) throws IOException;
+
+  /**
+   * Decodes the given json into the requested aggregate-root type.
+   *
+   * @param type the aggregate-root's type.
+   * @param json the json to decode.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The decoded aggregate-root, or {@code null} if the json is {@code null} or lacks required-fields.
+   * @throws IOException if the json is malformed.
+   * @throws IllegalArgumentException if the aggregate-root type is not supported by this codec.
+   * @see #read(Class, String, Set)
+   * @since 4.1.0
+   */
+  default <A extends AggregateRoot> @Nullable A read(final @NotNull Class<A> type, final @NotNull String json)
+    throws IOException {
+    return this.read(type, json, AggregateField.ALL);
+  }
+
+  /**
+   * Decodes the given json into the requested aggregate-root type, only decoding the optional-fields included in the
+   * projection.
+   *
+   * @param type the aggregate-root's type.
+   * @param json the json to decode.
+   * @param projection the optional-fields to decode.
+   * @param <A> an object which inherits the {@link AggregateRoot} class.
+   * @return The decoded aggregate-root, or {@code null} if the json is {@code null} or lacks required-fields.
+   * @throws IOException if the json is malformed.
+   * @throws IllegalArgumentException if the aggregate-root type is not supported by this codec.
+   * @since 4.1.0
+   */
+  <A extends AggregateRoot> @Nullable A read(
+    @NotNull Class<A> type, @NotNull String json, @NotNull Set<AggregateField> projection
+  ) throws IOException;
+}
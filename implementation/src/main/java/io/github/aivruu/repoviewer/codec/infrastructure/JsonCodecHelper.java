@@ -16,29 +16,105 @@
 //
 package io.github.aivruu.repoviewer.codec.infrastructure;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
 import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
-import io.github.aivruu.repoviewer.codec.infrastructure.type.RepositoryJsonCodecAdapter;
-import io.github.aivruu.repoviewer.codec.infrastructure.type.ReleaseJsonCodecAdapter;
-import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
-import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.logging.Logger;
 
 public final class JsonCodecHelper {
-  private static final Gson GSON = new GsonBuilder()
-    .setPrettyPrinting()
-    .registerTypeAdapter(ReleaseAggregateRoot.class, ReleaseJsonCodecAdapter.INSTANCE)
-    .registerTypeAdapter(RepositoryAggregateRoot.class, RepositoryJsonCodecAdapter.INSTANCE)
-    .create();
+  private static final Logger LOGGER = Logger.getLogger("repo-viewer");
+  // Jackson is a compile-only dependency, so its presence is checked by name before JacksonJsonCodec is touched.
+  private static final String JACKSON_FACTORY_CLASS = "com.fasterxml.jackson.core.JsonFactory";
+  private static volatile JsonCodec codec = GsonJsonCodec.INSTANCE;
 
   private JsonCodecHelper() {
     throw new UnsupportedOperationException("This class is for utility.");
   }
 
-  public static <A extends AggregateRoot> @Nullable A read(final Type type, final String json) {
-    return GSON.fromJson(json, type);
+  /**
+   * Returns the {@link JsonCodec} used to decode the requests' responses.
+   *
+   * @return The current {@link JsonCodec}, {@link GsonJsonCodec#INSTANCE} by default.
+   * @since 4.1.0
+   */
+  public static @NotNull JsonCodec codec() {
+    return codec;
+  }
+
+  /**
+   * Sets the {@link JsonCodec} used to decode the requests' responses, such as {@link GsonJsonCodec#INSTANCE} or
+   * {@link JacksonJsonCodec#INSTANCE}. Prefer {@link #useJackson()} to select Jackson's codec, as it requires
+   * {@code jackson-core} on the classpath.
+   *
+   * @param jsonCodec the codec to use.
+   * @since 4.1.0
+   */
+  public static void codec(final @NotNull JsonCodec jsonCodec) {
+    codec = jsonCodec;
+  }
+
+  /**
+   * Checks whether Jackson's {@code jackson-core} is on the classpath, which is required by {@link JacksonJsonCodec}.
+   *
+   * @return Whether Jackson is available.
+   * @since 4.1.0
+   */
+  public static boolean jacksonAvailable() {
+    try {
+      Class.forName(JACKSON_FACTORY_CLASS, false, JsonCodecHelper.class.getClassLoader());
+      return true;
+    } catch (final ClassNotFoundException | LinkageError exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Selects {@link JacksonJsonCodec#INSTANCE} if Jackson is on the classpath, otherwise keeps the current codec and
+   * logs a warning.
+   *
+   * @return Whether {@link JacksonJsonCodec#INSTANCE} was selected.
+   * @since 4.1.0
+   */
+  public static boolean useJackson() {
+    if (!jacksonAvailable()) {
+      LOGGER.warning("Jackson (com.fasterxml.jackson.core:jackson-core) is not on the classpath, keeping the %s codec."
+        .formatted(codec.getClass().getSimpleName()));
+      return false;
+    }
+    codec = JacksonJsonCodec.INSTANCE;
+    return true;
+  }
+
+  public static <A extends AggregateRoot> @Nullable A read(final @NotNull Class<A> type, final @NotNull String json) {
+    try {
+      return codec.read(type, json);
+    } catch (final IOException exception) {
+      LOGGER.warning("Unable to decode json into %s with the following message: %s".formatted(
+        type.getSimpleName(), exception.getMessage()));
+      return null;
+    }
+  }
+
+  public static <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull InputStream stream
+  ) {
+    return read(type, stream, AggregateField.ALL);
+  }
+
+  public static <A extends AggregateRoot> @Nullable A read(
+    final @NotNull Class<A> type, final @NotNull InputStream stream, final @NotNull Set<AggregateField> projection
+  ) {
+    try {
+      return codec.read(type, stream, projection);
+    } catch (final IOException exception) {
+      LOGGER.warning("Unable to decode json-stream into %s with the following message: %s".formatted(
+        type.getSimpleName(), exception.getMessage()));
+      return null;
+    }
   }
 }
@@ -0,0 +1,198 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A {@link Reader} that decodes UTF-8 bytes from an {@link InputStream} directly into the caller's char-buffer.
+ * <br>
+ * The byte-buffers are borrowed from a bounded pool and returned once the reader is closed, so decoding a response
+ * doesn't allocate any intermediate buffer or {@link String}. Malformed sequences are replaced with {@code U+FFFD}.
+ *
+ * @since 4.1.0
+ */
+public final class Utf8StreamReader extends Reader {
+  /** The size of every pooled byte-buffer. */
+  private static final int BUFFER_SIZE = 8192;
+  /** The bounded pool of byte-buffers, buffers are discarded if the pool is full when returned. */
+  private static final ArrayBlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(64);
+  private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+  private final InputStream stream;
+  private byte[] buffer;
+  private int position;
+  private int limit;
+  private boolean endOfStream;
+  /** The low-surrogate pending to be provided after a supplementary code-point was split between reads. */
+  private char pendingLowSurrogate;
+
+  /**
+   * Creates a new {@link Utf8StreamReader} with the given parameters.
+   *
+   * @param stream the UTF-8 encoded stream.
+   * @since 4.1.0
+   */
+  public Utf8StreamReader(final @NotNull InputStream stream) {
+    this.stream = stream;
+    final var pooledBuffer = BUFFER_POOL.poll();
+    this.buffer = (pooledBuffer == null) ? new byte[BUFFER_SIZE] : pooledBuffer;
+  }
+
+  @Override
+  public int read(final char @NotNull [] chars, final int offset, final int length) throws IOException {
+    if (this.buffer == null) {
+      throw new IOException("The reader is closed.");
+    }
+    if (length == 0) {
+      return 0;
+    }
+    var read = 0;
+    if (this.pendingLowSurrogate != 0) {
+      chars[offset] = this.pendingLowSurrogate;
+      this.pendingLowSurrogate = 0;
+      read++;
+    }
+    while (read < length) {
+      if (this.position == this.limit) {
+        // Only blocks for more bytes when nothing was decoded yet.
+        if (read > 0 || !this.fill()) {
+          break;
+        }
+      }
+      final var leading = this.buffer[this.position];
+      if (leading >= 0) {
+        chars[offset + read++] = (char) leading;
+        this.position++;
+        continue;
+      }
+      final var sequenceLength = this.sequenceLength(leading);
+      if (this.limit - this.position < sequenceLength) {
+        if (read > 0) {
+          break;
+        }
+        if (!this.fill()) {
+          // The stream ended in the middle of a sequence.
+          this.position = this.limit;
+          chars[offset + read++] = REPLACEMENT_CHARACTER;
+          break;
+        }
+        continue;
+      }
+      final var codePoint = this.decode(sequenceLength);
+      if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+        chars[offset + read++] = (char) codePoint;
+        continue;
+      }
+      chars[offset + read++] = Character.highSurrogate(codePoint);
+      if (read < length) {
+        chars[offset + read++] = Character.lowSurrogate(codePoint);
+      } else {
+        this.pendingLowSurrogate = Character.lowSurrogate(codePoint);
+      }
+    }
+    return (read == 0 && this.endOfStream) ? -1 : read;
+  }
+
+  /**
+   * Returns the amount of bytes of the sequence started by the given leading-byte, malformed leading-bytes are
+   * treated as single-byte sequences.
+   *
+   * @param leading the sequence's leading-byte.
+   * @return The sequence's length.
+   * @since 4.1.0
+   */
+  private int sequenceLength(final byte leading) {
+    if ((leading & 0xE0) == 0xC0) {
+      return 2;
+    }
+    if ((leading & 0xF0) == 0xE0) {
+      return 3;
+    }
+    return ((leading & 0xF8) == 0xF0) ? 4 : 1;
+  }
+
+  /**
+   * Decodes the multi-byte sequence at the current position and advances the position after it.
+   *
+   * @param sequenceLength the sequence's length.
+   * @return The decoded code-point, or {@code U+FFFD} if the sequence is malformed.
+   * @since 4.1.0
+   */
+  private int decode(final int sequenceLength) {
+    if (sequenceLength == 1) {
+      this.position++;
+      return REPLACEMENT_CHARACTER;
+    }
+    var codePoint = this.buffer[this.position] & (0x7F >> sequenceLength);
+    for (var i = 1; i < sequenceLength; i++) {
+      final var continuation = this.buffer[this.position + i];
+      if ((continuation & 0xC0) != 0x80) {
+        // Only the invalid-prefix is consumed, the next byte starts a new sequence.
+        this.position += i;
+        return REPLACEMENT_CHARACTER;
+      }
+      codePoint = (codePoint << 6) | (continuation & 0x3F);
+    }
+    this.position += sequenceLength;
+    final var overlong = (sequenceLength == 2 && codePoint < 0x80) || (sequenceLength == 3 && codePoint < 0x800)
+      || (sequenceLength == 4 && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT);
+    if (overlong || codePoint > Character.MAX_CODE_POINT
+      || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+      return REPLACEMENT_CHARACTER;
+    }
+    return codePoint;
+  }
+
+  /**
+   * Moves the unread bytes to the buffer's start and reads more bytes from the stream after them.
+   *
+   * @return {@code true} if any byte was read, {@code false} if the stream has ended.
+   * @throws IOException if the stream cannot be read.
+   * @since 4.1.0
+   */
+  private boolean fill() throws IOException {
+    if (this.endOfStream) {
+      return false;
+    }
+    final var remaining = this.limit - this.position;
+    System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+    this.position = 0;
+    this.limit = remaining;
+    final var read = this.stream.read(this.buffer, remaining, this.buffer.length - remaining);
+    if (read < 0) {
+      this.endOfStream = true;
+      return false;
+    }
+    this.limit += read;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.buffer == null) {
+      return;
+    }
+    BUFFER_POOL.offer(this.buffer);
+    this.buffer = null;
+    this.stream.close();
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Provides access to the JSON codec-helper and codec-adapter implementations.
+ * Provides access to the JSON codec-helper, the codec abstraction and its Gson and Jackson implementations.
  *
  * @since 4.0.0
  */
@@ -0,0 +1,218 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure.type;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Utility-class with the common parsing-operations used by the Jackson codec-adapters. Every method expects the
+ * parser to be positioned on the value to read, and leaves it on the value's last token.
+ * <br>
+ * The values are coerced the same way as Gson's {@code JsonReader} does, so both codecs accept and reject the same
+ * documents: strings can be read from numbers, numbers can be read from numeric strings, and any other unexpected
+ * value type is rejected with a {@link JsonParseException}.
+ *
+ * @since 4.1.0
+ */
+final class JsonParserHelper {
+  private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+  private JsonParserHelper() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  /**
+   * Checks that the parser is positioned on the given token.
+   *
+   * @param parser the json-parser.
+   * @param token the expected token.
+   * @throws IOException if the parser is positioned on a different token.
+   * @since 4.1.0
+   */
+  static void expect(final @NotNull JsonParser parser, final @NotNull JsonToken token) throws IOException {
+    if (parser.currentToken() != token) {
+      throw unexpected(parser, token.name());
+    }
+  }
+
+  /**
+   * Returns the current string-value, numbers are returned as their textual representation.
+   *
+   * @param parser the json-parser.
+   * @return The string-value.
+   * @throws IOException if the value is {@code null} or is not a string or number.
+   * @since 4.1.0
+   */
+  static @NotNull String string(final @NotNull JsonParser parser) throws IOException {
+    final var token = parser.currentToken();
+    if (token == null || (token != JsonToken.VALUE_STRING && !token.isNumeric())) {
+      throw unexpected(parser, "a string");
+    }
+    return parser.getText();
+  }
+
+  /**
+   * Returns the current string-value.
+   *
+   * @param parser the json-parser.
+   * @return The string-value, or {@code null} if the value was {@code null}.
+   * @throws IOException if the value is not a string or number.
+   * @since 4.1.0
+   */
+  static @Nullable String stringOrNull(final @NotNull JsonParser parser) throws IOException {
+    return (parser.currentToken() == JsonToken.VALUE_NULL) ? null : string(parser);
+  }
+
+  /**
+   * Returns the current number-value, numeric strings and integral floating-point numbers are accepted.
+   *
+   * @param parser the json-parser.
+   * @return The number-value.
+   * @throws IOException if the value is {@code null}, is not a number or numeric string, or is not integral.
+   * @since 4.1.0
+   */
+  static long longValue(final @NotNull JsonParser parser) throws IOException {
+    final var token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getLongValue();
+    }
+    if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_STRING) {
+      throw unexpected(parser, "a long");
+    }
+    final var text = parser.getText();
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return Long.parseLong(text);
+      } catch (final NumberFormatException ignored) {
+        // Might be an integral number written in floating-point notation.
+      }
+    }
+    final double value;
+    try {
+      value = Double.parseDouble(text);
+    } catch (final NumberFormatException exception) {
+      throw new JsonParseException(parser, "Expected a long but was " + text, exception);
+    }
+    final var result = (long) value;
+    if (result != value) {
+      throw new JsonParseException(parser, "Expected a long but was " + text);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the current number-value, following the same rules as {@link #longValue(JsonParser)}.
+   *
+   * @param parser the json-parser.
+   * @return The number-value.
+   * @throws IOException if the value cannot be read as a long, or doesn't fit in an int.
+   * @since 4.1.0
+   */
+  static int intValue(final @NotNull JsonParser parser) throws IOException {
+    final var value = longValue(parser);
+    if (value != (int) value) {
+      throw new JsonParseException(parser, "Expected an int but was " + value);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Returns the current number-value, following the same rules as {@link #longValue(JsonParser)}.
+   *
+   * @param parser the json-parser.
+   * @param defaultValue the value returned if the value was {@code null}.
+   * @return The number-value, or the default-value if the value was {@code null}.
+   * @throws IOException if the value cannot be read as a long.
+   * @since 4.1.0
+   */
+  static long longOrDefault(final @NotNull JsonParser parser, final long defaultValue) throws IOException {
+    return (parser.currentToken() == JsonToken.VALUE_NULL) ? defaultValue : longValue(parser);
+  }
+
+  /**
+   * Reads the {@code login} field from the current object-value, skipping every other field.
+   *
+   * @param parser the json-parser.
+   * @return The {@code login} field's value, or {@code null} if the value was {@code null} or has no login.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static @Nullable String login(final @NotNull JsonParser parser) throws IOException {
+    return nestedString(parser, "login");
+  }
+
+  /**
+   * Reads the given field from the current object-value, skipping every other field.
+   *
+   * @param parser the json-parser.
+   * @param field the field to read.
+   * @return The field's value, or {@code null} if the value was {@code null} or doesn't have that field.
+   * @throws IOException if the value is not an object, or the field's value cannot be read.
+   * @since 4.1.0
+   */
+  static @Nullable String nestedString(final @NotNull JsonParser parser, final @NotNull String field)
+    throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, JsonToken.START_OBJECT);
+    String value = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var name = parser.currentName();
+      parser.nextToken();
+      if (name.equals(field)) {
+        value = stringOrNull(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Reads the current strings-array.
+   *
+   * @param parser the json-parser.
+   * @return The strings-array, empty if the value was {@code null}.
+   * @throws IOException if the value is not an array, or any of its elements is not a string or number.
+   * @since 4.1.0
+   */
+  static @NotNull String[] stringArray(final @NotNull JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return EMPTY_STRING_ARRAY;
+    }
+    expect(parser, JsonToken.START_ARRAY);
+    final var values = new ArrayList<String>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      values.add(string(parser));
+    }
+    return values.toArray(EMPTY_STRING_ARRAY);
+  }
+
+  private static @NotNull JsonParseException unexpected(
+    final @NotNull JsonParser parser, final @NotNull String expected
+  ) {
+    return new JsonParseException(parser, "Expected %s but was %s".formatted(expected, parser.currentToken()));
+  }
+}
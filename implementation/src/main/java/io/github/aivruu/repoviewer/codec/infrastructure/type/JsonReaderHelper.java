@@ -0,0 +1,133 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure.type;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Utility-class with the common reading-operations used by the streaming codec-adapters.
+ *
+ * @since 4.1.0
+ */
+final class JsonReaderHelper {
+  private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+  private JsonReaderHelper() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  /**
+   * Reads the next string-value, or consumes the {@code null} literal.
+   *
+   * @param reader the json-reader.
+   * @return The string-value, or {@code null} if the value was {@code null}.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static @Nullable String nextStringOrNull(final @NotNull JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
+  }
+
+  /**
+   * Reads the next number-value, or consumes the {@code null} literal.
+   *
+   * @param reader the json-reader.
+   * @param defaultValue the value returned if the value was {@code null}.
+   * @return The number-value, or the default-value if the value was {@code null}.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static long nextLongOrDefault(final @NotNull JsonReader reader, final long defaultValue) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return defaultValue;
+    }
+    return reader.nextLong();
+  }
+
+  /**
+   * Reads the {@code login} field from the next object-value, skipping every other field.
+   *
+   * @param reader the json-reader.
+   * @return The {@code login} field's value, or {@code null} if the value was {@code null} or has no login.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static @Nullable String nextLogin(final @NotNull JsonReader reader) throws IOException {
+    return nextNestedString(reader, "login");
+  }
+
+  /**
+   * Reads the given field from the next object-value, skipping every other field.
+   *
+   * @param reader the json-reader.
+   * @param field the field to read.
+   * @return The field's value, or {@code null} if the value was {@code null} or doesn't have that field.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static @Nullable String nextNestedString(final @NotNull JsonReader reader, final @NotNull String field)
+    throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    String value = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals(field)) {
+        value = nextStringOrNull(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return value;
+  }
+
+  /**
+   * Reads the next strings-array.
+   *
+   * @param reader the json-reader.
+   * @return The strings-array, empty if the value was {@code null}.
+   * @throws IOException if the value cannot be read.
+   * @since 4.1.0
+   */
+  static @NotNull String[] nextStringArray(final @NotNull JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return EMPTY_STRING_ARRAY;
+    }
+    final var values = new ArrayList<String>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      values.add(reader.nextString());
+    }
+    reader.endArray();
+    return values.toArray(EMPTY_STRING_ARRAY);
+  }
+}
@@ -0,0 +1,118 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure.type;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.release.domain.AssetValueObject;
+import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
+import io.github.aivruu.repoviewer.release.domain.ReleaseValueObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+
+public final class ReleaseJacksonCodecAdapter {
+  private static final AssetValueObject[] EMPTY_ASSETS_ARRAY = new AssetValueObject[0];
+
+  private ReleaseJacksonCodecAdapter() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  public static @Nullable ReleaseAggregateRoot read(
+    final @NotNull JsonParser parser, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    if (parser.nextToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    JsonParserHelper.expect(parser, JsonToken.START_OBJECT);
+    String id = null;
+    String author = projection.contains(AggregateField.AUTHOR) ? null : "";
+    String tag = null;
+    String name = null;
+    var assets = EMPTY_ASSETS_ARRAY;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var field = parser.currentName();
+      parser.nextToken();
+      // Only the required fields are read, the release's body and any other value are skipped.
+      switch (field) {
+        case "id" -> id = JsonParserHelper.string(parser);
+        case "author" -> {
+          if (projection.contains(AggregateField.AUTHOR)) {
+            author = JsonParserHelper.login(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "tag_name" -> tag = JsonParserHelper.string(parser);
+        case "name" -> name = JsonParserHelper.stringOrNull(parser);
+        case "assets" -> {
+          if (projection.contains(AggregateField.ASSETS)) {
+            assets = readAssets(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    if (id == null || author == null || tag == null) {
+      return null;
+    }
+    // Releases without a title are shown using their tag-name.
+    return new ReleaseAggregateRoot(id, new ReleaseValueObject(author, tag, (name == null) ? tag : name, assets));
+  }
+
+  private static @NotNull AssetValueObject[] readAssets(final @NotNull JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return EMPTY_ASSETS_ARRAY;
+    }
+    JsonParserHelper.expect(parser, JsonToken.START_ARRAY);
+    final var assets = new ArrayList<AssetValueObject>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      JsonParserHelper.expect(parser, JsonToken.START_OBJECT);
+      String assetName = null;
+      String downloadUrl = null;
+      var size = -1L;
+      String contentType = null;
+      var downloadCount = 0L;
+      String updatedAt = null;
+      String digest = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final var field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "name" -> assetName = JsonParserHelper.string(parser);
+          case "browser_download_url" -> downloadUrl = JsonParserHelper.string(parser);
+          case "size" -> size = JsonParserHelper.longOrDefault(parser, -1L);
+          case "content_type" -> contentType = JsonParserHelper.stringOrNull(parser);
+          case "download_count" -> downloadCount = JsonParserHelper.longOrDefault(parser, 0L);
+          case "updated_at" -> updatedAt = JsonParserHelper.stringOrNull(parser);
+          case "digest" -> digest = JsonParserHelper.stringOrNull(parser);
+          default -> parser.skipChildren();
+        }
+      }
+      if (assetName != null && downloadUrl != null) {
+        assets.add(new AssetValueObject(assetName, downloadUrl, size, contentType, downloadCount, updatedAt, digest));
+      }
+    }
+    return assets.toArray(EMPTY_ASSETS_ARRAY);
+  }
+}
@@ -16,37 +16,116 @@
 //
 package io.github.aivruu.repoviewer.codec.infrastructure.type;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.release.domain.AssetValueObject;
 import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
 import io.github.aivruu.repoviewer.release.domain.ReleaseValueObject;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
 
-public enum ReleaseJsonCodecAdapter implements JsonDeserializer<ReleaseAggregateRoot> {
-  INSTANCE;
+public final class ReleaseJsonCodecAdapter extends TypeAdapter<ReleaseAggregateRoot> {
+  public static final ReleaseJsonCodecAdapter INSTANCE = new ReleaseJsonCodecAdapter();
 
-  private static final String ASSET_FORMAT_STRING = "%s:%s";
+  private static final AssetValueObject[] EMPTY_ASSETS_ARRAY = new AssetValueObject[0];
+
+  private ReleaseJsonCodecAdapter() {}
+
+  @Override
+  public void write(final JsonWriter jsonWriter, final ReleaseAggregateRoot releaseAggregateRoot) {
+    throw new UnsupportedOperationException("Release aggregate-roots cannot be serialized.");
+  }
 
   @Override
-  public @NotNull ReleaseAggregateRoot deserialize(
-    final JsonElement jsonElement, final Type type, final JsonDeserializationContext jsonDeserializationContext
-  ) {
-    final var jsonObject = jsonElement.getAsJsonObject();
-    final var providedAssets = jsonObject.getAsJsonArray("assets").asList();
-    final var assetsArray = new String[providedAssets.size()];
-    for (byte i = 0; i < assetsArray.length; i++) {
-      final var assetJsonObject = providedAssets.get(i).getAsJsonObject();
-      assetsArray[i] = ASSET_FORMAT_STRING.formatted(
-        assetJsonObject.get("name").getAsString(),
-        assetJsonObject.get("browser_download_url").getAsString());
+  public @Nullable ReleaseAggregateRoot read(final JsonReader jsonReader) throws IOException {
+    return this.read(jsonReader, AggregateField.ALL);
+  }
+
+  public @Nullable ReleaseAggregateRoot read(
+    final @NotNull JsonReader jsonReader, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    String id = null;
+    String author = projection.contains(AggregateField.AUTHOR) ? null : "";
+    String tag = null;
+    String name = null;
+    var assets = EMPTY_ASSETS_ARRAY;
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      // Only the required fields are read, the release's body and any other value are skipped.
+      switch (jsonReader.nextName()) {
+        case "id" -> id = jsonReader.nextString();
+        case "author" -> {
+          if (projection.contains(AggregateField.AUTHOR)) {
+            author = JsonReaderHelper.nextLogin(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "tag_name" -> tag = jsonReader.nextString();
+        case "name" -> name = JsonReaderHelper.nextStringOrNull(jsonReader);
+        case "assets" -> {
+          if (projection.contains(AggregateField.ASSETS)) {
+            assets = this.readAssets(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        default -> jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+    if (id == null || author == null || tag == null) {
+      return null;
+    }
+    // Releases without a title are shown using their tag-name.
+    return new ReleaseAggregateRoot(id, new ReleaseValueObject(author, tag, (name == null) ? tag : name, assets));
+  }
+
+  private @NotNull AssetValueObject[] readAssets(final @NotNull JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return EMPTY_ASSETS_ARRAY;
+    }
+    final var assets = new ArrayList<AssetValueObject>();
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      String assetName = null;
+      String downloadUrl = null;
+      var size = -1L;
+      String contentType = null;
+      var downloadCount = 0L;
+      String updatedAt = null;
+      String digest = null;
+      jsonReader.beginObject();
+      while (jsonReader.hasNext()) {
+        switch (jsonReader.nextName()) {
+          case "name" -> assetName = jsonReader.nextString();
+          case "browser_download_url" -> downloadUrl = jsonReader.nextString();
+          case "size" -> size = JsonReaderHelper.nextLongOrDefault(jsonReader, -1L);
+          case "content_type" -> contentType = JsonReaderHelper.nextStringOrNull(jsonReader);
+          case "download_count" -> downloadCount = JsonReaderHelper.nextLongOrDefault(jsonReader, 0L);
+          case "updated_at" -> updatedAt = JsonReaderHelper.nextStringOrNull(jsonReader);
+          case "digest" -> digest = JsonReaderHelper.nextStringOrNull(jsonReader);
+          default -> jsonReader.skipValue();
+        }
+      }
+      jsonReader.endObject();
+      if (assetName != null && downloadUrl != null) {
+        assets.add(new AssetValueObject(assetName, downloadUrl, size, contentType, downloadCount, updatedAt, digest));
+      }
     }
-    return new ReleaseAggregateRoot(jsonObject.get("id").getAsString(), new ReleaseValueObject(
-      jsonObject.get("author").getAsJsonObject().get("login").getAsString(),
-      jsonObject.get("tag_name").getAsString(),
-      jsonObject.get("name").getAsString(),
-      assetsArray));
+    jsonReader.endArray();
+    return assets.toArray(EMPTY_ASSETS_ARRAY);
   }
 }
@@ -0,0 +1,146 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure.type;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryPropertiesValueObject;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryValueObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Set;
+
+public final class RepositoryJacksonCodecAdapter {
+  private RepositoryJacksonCodecAdapter() {
+    throw new UnsupportedOperationException("This class is for utility.");
+  }
+
+  public static @Nullable RepositoryAggregateRoot read(
+    final @NotNull JsonParser parser, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    if (parser.nextToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    JsonParserHelper.expect(parser, JsonToken.START_OBJECT);
+    String id = null;
+    String owner = projection.contains(AggregateField.OWNER) ? null : "";
+    String name = null;
+    String description = null;
+    String license = projection.contains(AggregateField.LICENSE) ? "unknown" : null;
+    var forked = false;
+    String parent = null;
+    var canBeForked = false;
+    var stars = 0;
+    var forks = 0;
+    var isPrivate = false;
+    var archived = false;
+    var disabled = false;
+    String language = null;
+    String[] topics = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var field = parser.currentName();
+      parser.nextToken();
+      // Only the required fields are read, any other value is skipped without being materialized.
+      switch (field) {
+        case "id" -> id = JsonParserHelper.string(parser);
+        case "owner" -> {
+          if (projection.contains(AggregateField.OWNER)) {
+            owner = JsonParserHelper.login(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "name" -> name = JsonParserHelper.string(parser);
+        case "description" -> {
+          if (projection.contains(AggregateField.DESCRIPTION)) {
+            description = JsonParserHelper.stringOrNull(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "license" -> {
+          if (projection.contains(AggregateField.LICENSE)) {
+            final var licenseName = JsonParserHelper.nestedString(parser, "name");
+            if (licenseName != null) {
+              license = licenseName;
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "fork" -> forked = parser.getBooleanValue();
+        case "parent" -> {
+          if (projection.contains(AggregateField.PARENT)) {
+            parent = readParentOwner(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "allow_forking" -> canBeForked = parser.getBooleanValue();
+        case "stargazers_count" -> stars = JsonParserHelper.intValue(parser);
+        case "forks_count" -> forks = JsonParserHelper.intValue(parser);
+        case "private" -> isPrivate = parser.getBooleanValue();
+        case "archived" -> archived = parser.getBooleanValue();
+        case "disabled" -> disabled = parser.getBooleanValue();
+        case "language" -> {
+          if (projection.contains(AggregateField.LANGUAGE)) {
+            language = JsonParserHelper.stringOrNull(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "topics" -> {
+          if (projection.contains(AggregateField.TOPICS)) {
+            topics = JsonParserHelper.stringArray(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    if (id == null || owner == null || name == null) {
+      return null;
+    }
+    return new RepositoryAggregateRoot(id, new RepositoryValueObject(
+      owner, name, (description == null) ? "" : description, license,
+      new RepositoryPropertiesValueObject(
+        forked, forked ? parent : null, canBeForked, stars, forks, !isPrivate, archived, disabled, language, topics)));
+  }
+
+  private static @Nullable String readParentOwner(final @NotNull JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    JsonParserHelper.expect(parser, JsonToken.START_OBJECT);
+    String parentOwner = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var field = parser.currentName();
+      parser.nextToken();
+      if (field.equals("owner")) {
+        parentOwner = JsonParserHelper.login(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return parentOwner;
+  }
+}
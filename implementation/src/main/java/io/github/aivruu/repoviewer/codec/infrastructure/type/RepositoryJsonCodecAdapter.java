@@ -16,58 +16,143 @@
 //
 package io.github.aivruu.repoviewer.codec.infrastructure.type;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
 import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
 import io.github.aivruu.repoviewer.repository.domain.RepositoryValueObject;
 import io.github.aivruu.repoviewer.repository.domain.RepositoryPropertiesValueObject;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.util.Set;
 
-public enum RepositoryJsonCodecAdapter implements JsonDeserializer<RepositoryAggregateRoot> {
-  INSTANCE;
+public final class RepositoryJsonCodecAdapter extends TypeAdapter<RepositoryAggregateRoot> {
+  public static final RepositoryJsonCodecAdapter INSTANCE = new RepositoryJsonCodecAdapter();
+
+  private RepositoryJsonCodecAdapter() {}
 
   @Override
-  public @NotNull RepositoryAggregateRoot deserialize(
-    final JsonElement jsonElement, final Type type, final JsonDeserializationContext jsonDeserializationContext
-  ) {
-    final var jsonObject = jsonElement.getAsJsonObject();
-    final var id = jsonObject.get("id").getAsString();
-    final var licenseNode = jsonObject.get("license");
-    var license = "unknown";
-    if (!licenseNode.isJsonNull()) {
-      license = licenseNode.getAsJsonObject().get("name").getAsString();
+  public void write(final JsonWriter jsonWriter, final RepositoryAggregateRoot repositoryAggregateRoot) {
+    throw new UnsupportedOperationException("Repository aggregate-roots cannot be serialized.");
+  }
+
+  @Override
+  public @Nullable RepositoryAggregateRoot read(final JsonReader jsonReader) throws IOException {
+    return this.read(jsonReader, AggregateField.ALL);
+  }
+
+  public @Nullable RepositoryAggregateRoot read(
+    final @NotNull JsonReader jsonReader, final @NotNull Set<AggregateField> projection
+  ) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    String id = null;
+    String owner = projection.contains(AggregateField.OWNER) ? null : "";
+    String name = null;
+    String description = null;
+    String license = projection.contains(AggregateField.LICENSE) ? "unknown" : null;
+    var forked = false;
+    String parent = null;
+    var canBeForked = false;
+    var stars = 0;
+    var forks = 0;
+    var isPrivate = false;
+    var archived = false;
+    var disabled = false;
+    String language = null;
+    String[] topics = null;
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      // Only the required fields are read, any other value is skipped without being materialized.
+      switch (jsonReader.nextName()) {
+        case "id" -> id = jsonReader.nextString();
+        case "owner" -> {
+          if (projection.contains(AggregateField.OWNER)) {
+            owner = JsonReaderHelper.nextLogin(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "name" -> name = jsonReader.nextString();
+        case "description" -> {
+          if (projection.contains(AggregateField.DESCRIPTION)) {
+            description = JsonReaderHelper.nextStringOrNull(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "license" -> {
+          if (projection.contains(AggregateField.LICENSE)) {
+            final var licenseName = JsonReaderHelper.nextNestedString(jsonReader, "name");
+            if (licenseName != null) {
+              license = licenseName;
+            }
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "fork" -> forked = jsonReader.nextBoolean();
+        case "parent" -> {
+          if (projection.contains(AggregateField.PARENT)) {
+            parent = this.readParentOwner(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "allow_forking" -> canBeForked = jsonReader.nextBoolean();
+        case "stargazers_count" -> stars = jsonReader.nextInt();
+        case "forks_count" -> forks = jsonReader.nextInt();
+        case "private" -> isPrivate = jsonReader.nextBoolean();
+        case "archived" -> archived = jsonReader.nextBoolean();
+        case "disabled" -> disabled = jsonReader.nextBoolean();
+        case "language" -> {
+          if (projection.contains(AggregateField.LANGUAGE)) {
+            language = JsonReaderHelper.nextStringOrNull(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        case "topics" -> {
+          if (projection.contains(AggregateField.TOPICS)) {
+            topics = JsonReaderHelper.nextStringArray(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+        }
+        default -> jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+    if (id == null || owner == null || name == null) {
+      return null;
     }
     return new RepositoryAggregateRoot(id, new RepositoryValueObject(
-      jsonObject.get("owner").getAsJsonObject().get("login").getAsString(),
-      jsonObject.get("name").getAsString(),
-      jsonObject.get("description").getAsString(),
-      license,
-      this.createAttributesContainer(jsonObject)));
+      owner, name, (description == null) ? "" : description, license,
+      new RepositoryPropertiesValueObject(
+        forked, forked ? parent : null, canBeForked, stars, forks, !isPrivate, archived, disabled, language, topics)));
   }
 
-  private @NotNull RepositoryPropertiesValueObject createAttributesContainer(final @NotNull JsonObject jsonObject) {
-    final var forked = jsonObject.get("fork").getAsBoolean();
-    final var parent = forked
-      ? jsonObject.get("parent").getAsJsonObject().get("owner").getAsJsonObject().get("login").getAsString()
-      : null;
-    final var providedTopicsArray = jsonObject.get("topics").getAsJsonArray();
-    final var topicsArray = new String[providedTopicsArray.size()];
-    for (byte i = 0; i < topicsArray.length; i++) {
-      topicsArray[i] = providedTopicsArray.get(i).getAsString();
+  private @Nullable String readParentOwner(final @NotNull JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    String parentOwner = null;
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      if (jsonReader.nextName().equals("owner")) {
+        parentOwner = JsonReaderHelper.nextLogin(jsonReader);
+      } else {
+        jsonReader.skipValue();
+      }
     }
-    return new RepositoryPropertiesValueObject(
-      forked, parent,
-      jsonObject.get("allow_forking").getAsBoolean(),
-      jsonObject.get("stargazers_count").getAsInt(),
-      jsonObject.get("forks_count").getAsInt(),
-      jsonObject.get("private").getAsBoolean(),
-      jsonObject.get("archived").getAsBoolean(),
-      jsonObject.get("disabled").getAsBoolean(),
-      jsonObject.get("language").getAsString(),
-      topicsArray);
+    jsonReader.endObject();
+    return parentOwner;
   }
 }
@@ -0,0 +1,90 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.infrastructure;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
+import io.github.aivruu.repoviewer.codec.infrastructure.JsonCodecHelper;
+import io.github.aivruu.repoviewer.http.domain.AbstractRequest;
+import io.github.aivruu.repoviewer.http.domain.RequestOptions;
+import io.github.aivruu.repoviewer.http.domain.RequestResponseStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+
+/**
+ * An {@link AbstractRequest} implementation that decodes the response's body into the aggregate-root type provided
+ * by {@link #aggregateType()}, using the {@link io.github.aivruu.repoviewer.codec.infrastructure.JsonCodec} selected
+ * at {@link JsonCodecHelper}.
+ * <br>
+ * The body is consumed as a byte-stream by the codec, so it's never materialized into a {@link String}.
+ *
+ * @param <A> an object which inherits the {@link AggregateRoot} class.
+ * @since 4.1.0
+ */
+public abstract class JsonRequest<A extends AggregateRoot> extends AbstractRequest<A> {
+  /**
+   * Creates a new {@link JsonRequest} with the given parameters.
+   *
+   * @param uri the url for the request.
+   * @param client the {@link HttpClient} to use, {@code null} for use a default-client.
+   * @param timeout the max-timeout for the request.
+   * @param options the {@link RequestOptions} to use, {@code null} for use the default-options.
+   * @since 4.1.0
+   */
+  protected JsonRequest(
+    final @NotNull URI uri, final @Nullable HttpClient client, final int timeout, final @Nullable RequestOptions options
+  ) {
+    super(uri, client, timeout, options);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return The aggregate-root's type the response's body is decoded into.
+   * @since 4.1.0
+   */
+  @Override
+  public abstract @NotNull Class<A> aggregateType();
+
+  /**
+   * {@inheritDoc}
+   * <br>
+   * Provides additional-logic for json-deserialization into the {@link #aggregateType()} object.
+   *
+   * @return {@inheritDoc}
+   * <ul>
+   * <li>{@link RequestResponseStatus#valid(AggregateRoot)} if the json was valid and deserialized.</li>
+   * </ul>
+   * @since 4.1.0
+   */
+  @Override
+  public @NotNull RequestResponseStatus<@Nullable A> validateAndProvideResponse(
+    final @Nullable HttpResponse<InputStream> response
+  ) {
+    final var originalResponse = super.validateAndProvideResponse(response);
+    // Check if the response returns 'pending' (200 status-code) to proceed with json-reading.
+    if (!originalResponse.wasPending()) {
+      return originalResponse;
+    }
+    final var aggregateRoot = JsonCodecHelper.read(this.aggregateType(), response.body(), this.options.fields());
+    return (aggregateRoot == null) ? RequestResponseStatus.invalid() : RequestResponseStatus.valid(aggregateRoot);
+  }
+}
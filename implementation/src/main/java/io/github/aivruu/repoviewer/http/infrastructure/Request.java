@@ -16,12 +16,25 @@
 //
 package io.github.aivruu.repoviewer.http.infrastructure;
 
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.cache.application.AggregateCache;
+import io.github.aivruu.repoviewer.cache.application.ConditionalResponseCache;
+import io.github.aivruu.repoviewer.http.application.CircuitBreaker;
+import io.github.aivruu.repoviewer.http.application.ConcurrencyLimiter;
+import io.github.aivruu.repoviewer.http.application.HedgePolicy;
+import io.github.aivruu.repoviewer.http.application.RateLimitScheduler;
+import io.github.aivruu.repoviewer.http.application.RequestCoalescer;
+import io.github.aivruu.repoviewer.http.application.ResponseCompression;
+import io.github.aivruu.repoviewer.http.application.RetryPolicy;
+import io.github.aivruu.repoviewer.http.application.TokenPool;
+import io.github.aivruu.repoviewer.http.domain.RequestOptions;
 import io.github.aivruu.repoviewer.http.infrastructure.type.ReleaseRequest;
 import io.github.aivruu.repoviewer.http.infrastructure.type.RepositoryRequest;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.util.Set;
 
 /**
  * A builder-class used for request-types creation for with GitHub API usage.
@@ -32,6 +45,17 @@ public final class Request {
   private String url;
   private HttpClient client;
   private int timeout;
+  private ConditionalResponseCache conditionalCache;
+  private AggregateCache aggregateCache;
+  private RequestCoalescer coalescer;
+  private Set<AggregateField> projection;
+  private ResponseCompression compression;
+  private RateLimitScheduler rateLimitScheduler;
+  private RetryPolicy retryPolicy;
+  private HedgePolicy hedgePolicy;
+  private ConcurrencyLimiter concurrencyLimiter;
+  private CircuitBreaker circuitBreaker;
+  private TokenPool tokenPool;
 
   private Request() {}
 
@@ -81,6 +105,175 @@ public final class Request {
     return this;
   }
 
+  /**
+   * Sets the {@link ConditionalResponseCache} used to make conditional-requests and reuse the previously-decoded
+   * aggregate-roots when the response indicates a 'not-modified' (304) status-code.
+   *
+   * @param conditionalCache a shared {@link ConditionalResponseCache} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request conditionalCache(final @NotNull ConditionalResponseCache conditionalCache) {
+    this.conditionalCache = conditionalCache;
+    return this;
+  }
+
+  /**
+   * Sets the {@link AggregateCache} consulted before making the request, and where the valid responses'
+   * aggregate-roots are stored.
+   *
+   * @param aggregateCache a shared {@link AggregateCache} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request aggregateCache(final @NotNull AggregateCache aggregateCache) {
+    this.aggregateCache = aggregateCache;
+    return this;
+  }
+
+  /**
+   * Sets the {@link RequestCoalescer} used to share a single in-flight request between concurrent requests for the
+   * same url.
+   *
+   * @param coalescer a shared {@link RequestCoalescer} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request coalescer(final @NotNull RequestCoalescer coalescer) {
+    this.coalescer = coalescer;
+    return this;
+  }
+
+  /**
+   * Sets the optional-fields to decode from the response, any other optional-field is skipped while decoding and
+   * provided as an empty-value. A partial-projection cannot be used alongside any cache or coalescer.
+   *
+   * @param fields the optional-fields to decode.
+   * @return This {@link Request} instance.
+   * @see AggregateField
+   * @since 4.1.0
+   */
+  public @NotNull Request projection(final @NotNull AggregateField... fields) {
+    this.projection = AggregateField.projection(fields);
+    return this;
+  }
+
+  /**
+   * Sets the {@link ResponseCompression} used to accept gzip and deflate compressed-responses, which are decompressed
+   * while the codec reads them.
+   *
+   * @param compression a shared {@link ResponseCompression} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request compression(final @NotNull ResponseCompression compression) {
+    this.compression = compression;
+    return this;
+  }
+
+  /**
+   * Sets the {@link RateLimitScheduler} used to pace this request according to the API's rate-limit quota, queueing it
+   * until the quota's reset when it's exhausted.
+   *
+   * @param rateLimitScheduler a shared {@link RateLimitScheduler} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request rateLimitScheduler(final @NotNull RateLimitScheduler rateLimitScheduler) {
+    this.rateLimitScheduler = rateLimitScheduler;
+    return this;
+  }
+
+  /**
+   * Sets the {@link RetryPolicy} used to send this request again when it fails due to a transient failure.
+   *
+   * @param retryPolicy a {@link RetryPolicy} instance, whose budget should be shared between all the requests.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request retryPolicy(final @NotNull RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  /**
+   * Sets the {@link HedgePolicy} used to send a second request when this one takes longer than the usual latency,
+   * providing the first response received.
+   *
+   * @param hedgePolicy a shared {@link HedgePolicy} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request hedgePolicy(final @NotNull HedgePolicy hedgePolicy) {
+    this.hedgePolicy = hedgePolicy;
+    return this;
+  }
+
+  /**
+   * Sets the {@link ConcurrencyLimiter} used to bound the amount of requests in-flight, this request is shed if the
+   * limit is reached and it can't wait for a permit.
+   *
+   * @param concurrencyLimiter a shared {@link ConcurrencyLimiter} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request concurrencyLimiter(final @NotNull ConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+    return this;
+  }
+
+  /**
+   * Sets the {@link CircuitBreaker} used to short-circuit this request without sending it while its host is failing.
+   *
+   * @param circuitBreaker a shared {@link CircuitBreaker} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request circuitBreaker(final @NotNull CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+    return this;
+  }
+
+  /**
+   * Sets the authentication-token sent with this request. The cached data and in-flight requests are only shared
+   * with the requests made with the same token.
+   *
+   * @param token the authentication-token.
+   * @return This {@link Request} instance.
+   * @see #tokenPool(TokenPool)
+   * @since 4.1.0
+   */
+  public @NotNull Request token(final @NotNull String token) {
+    this.tokenPool = new TokenPool(token);
+    return this;
+  }
+
+  /**
+   * Sets the {@link TokenPool} that provides the authentication-token with the most remaining quota for this request.
+   * The cached data and in-flight requests are only shared with the requests made with the same tokens.
+   *
+   * @param tokenPool a shared {@link TokenPool} instance.
+   * @return This {@link Request} instance.
+   * @since 4.1.0
+   */
+  public @NotNull Request tokenPool(final @NotNull TokenPool tokenPool) {
+    this.tokenPool = tokenPool;
+    return this;
+  }
+
+  /**
+   * Creates a new {@link RequestOptions} object with the components provided.
+   *
+   * @return A {@link RequestOptions}.
+   * @throws IllegalArgumentException if a partial-projection is used alongside any cache or coalescer.
+   * @since 4.1.0
+   */
+  private @NotNull RequestOptions provideOptions() {
+    return new RequestOptions(this.conditionalCache, this.aggregateCache, this.coalescer, this.projection,
+      this.compression, this.rateLimitScheduler, this.retryPolicy, this.hedgePolicy, this.concurrencyLimiter,
+      this.circuitBreaker, this.tokenPool);
+  }
+
   /**
    * Validates if an url is provided and then provides a new {@link URI} object with the provided url.
    *
@@ -103,7 +296,7 @@ public final class Request {
    * @since 4.0.0
    */
   public @NotNull ReleaseRequest release() {
-    return new ReleaseRequest(this.validateAndProvideUrl(), this.client, this.timeout);
+    return new ReleaseRequest(this.validateAndProvideUrl(), this.client, this.timeout, this.provideOptions());
   }
 
   /**
@@ -115,6 +308,6 @@ public final class Request {
    * @since 4.0.0
    */
   public @NotNull RepositoryRequest repository() {
-    return new RepositoryRequest(this.validateAndProvideUrl(), this.client, this.timeout);
+    return new RepositoryRequest(this.validateAndProvideUrl(), this.client, this.timeout, this.provideOptions());
   }
 }
@@ -1,5 +1,5 @@
 /**
- * Provides access to the requests-builder and request-implementations.
+ * Provides access to the requests-builder, the json-request abstraction and request-implementations.
  *
  * @since 4.0.0
  */
@@ -16,24 +16,21 @@
 //
 package io.github.aivruu.repoviewer.http.infrastructure.type;
 
-import io.github.aivruu.repoviewer.aggregate.domain.AggregateRoot;
-import io.github.aivruu.repoviewer.codec.infrastructure.JsonCodecHelper;
-import io.github.aivruu.repoviewer.http.domain.AbstractRequest;
-import io.github.aivruu.repoviewer.http.domain.RequestResponseStatus;
+import io.github.aivruu.repoviewer.http.domain.RequestOptions;
+import io.github.aivruu.repoviewer.http.infrastructure.JsonRequest;
 import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpResponse;
 
 /**
- * An {@link AbstractRequest} implementation for data-processing into {@link ReleaseAggregateRoot} objects.
+ * A {@link JsonRequest} implementation for data-processing into {@link ReleaseAggregateRoot} objects.
  *
  * @since 4.0.0
  */
-public final class ReleaseRequest extends AbstractRequest<ReleaseAggregateRoot> {
+public final class ReleaseRequest extends JsonRequest<ReleaseAggregateRoot> {
   /**
    * Creates a new {@link ReleaseRequest} with the given parameters.
    *
@@ -42,31 +39,32 @@ public final class ReleaseRequest extends AbstractRequest<ReleaseAggregateRoot>
    * @param timeout the max-timeout for the request.
    */
   public ReleaseRequest(final @NotNull URI uri, final @Nullable HttpClient client, final int timeout) {
-    super(uri, client, timeout);
+    super(uri, client, timeout, null);
+  }
+
+  /**
+   * Creates a new {@link ReleaseRequest} with the given parameters.
+   *
+   * @param uri the url for the request.
+   * @param client the {@link HttpClient} to use, {@code null} for use a default-client.
+   * @param timeout the max-timeout for the request.
+   * @param options the {@link RequestOptions} to use, {@code null} for use the default-options.
+   * @since 4.1.0
+   */
+  public ReleaseRequest(
+    final @NotNull URI uri, final @Nullable HttpClient client, final int timeout, final @Nullable RequestOptions options
+  ) {
+    super(uri, client, timeout, options);
   }
 
   /**
    * {@inheritDoc}
-   * <br>
-   * Provides additional-logic for json-deserialization into {@link ReleaseAggregateRoot} object.
    *
-   * @return {@inheritDoc}
-   * <ul>
-   * <li>{@link RequestResponseStatus#valid(AggregateRoot)} if the json was valid and deserialized.</li>
-   * </ul>
-   * @since 4.0.0
+   * @return The {@link ReleaseAggregateRoot} type.
+   * @since 4.1.0
    */
   @Override
-  public @NotNull RequestResponseStatus<@Nullable ReleaseAggregateRoot> validateAndProvideResponse(
-    final @Nullable HttpResponse<String> response
-  ) {
-    final var originalResponse = super.validateAndProvideResponse(response);
-    // Check if the response returns 'pending' (200 status-code) to proceed with json-reading.
-    if (!originalResponse.wasPending()) {
-      return originalResponse;
-    }
-    final var releaseAggregateRoot = JsonCodecHelper.read(ReleaseAggregateRoot.class, response.body());
-    return (releaseAggregateRoot == null)
-      ? RequestResponseStatus.invalid() : RequestResponseStatus.valid((ReleaseAggregateRoot) releaseAggregateRoot);
+  public @NotNull Class<ReleaseAggregateRoot> aggregateType() {
+    return ReleaseAggregateRoot.class;
   }
 }
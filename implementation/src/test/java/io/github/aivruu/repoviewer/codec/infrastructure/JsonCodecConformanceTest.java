@@ -0,0 +1,224 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.codec.infrastructure;
+
+import io.github.aivruu.repoviewer.aggregate.domain.AggregateField;
+import io.github.aivruu.repoviewer.release.domain.ReleaseAggregateRoot;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that every {@link JsonCodec} engine accepts, rejects and decodes the same documents the same way.
+ */
+final class JsonCodecConformanceTest {
+  private static final String RELEASE_JSON = """
+    {
+      "id": 123,
+      "author": {"login": "aivruu", "id": 1},
+      "tag_name": "v4.1.0",
+      "name": null,
+      "body": "Notes with \\"escapes\\" and unicode \\u00e9.",
+      "assets": [
+        {
+          "name": "repo-viewer.jar",
+          "browser_download_url": "https://example.com/repo-viewer.jar",
+          "size": 2048,
+          "content_type": "application/java-archive",
+          "download_count": 7,
+          "updated_at": "2025-01-01T00:00:00Z",
+          "digest": "sha256:abc"
+        },
+        {"name": "sources.zip", "browser_download_url": "https://example.com/sources.zip", "size": null}
+      ]
+    }""";
+  private static final String REPOSITORY_JSON = """
+    {
+      "id": 456,
+      "owner": {"login": "aivruu"},
+      "name": "repo-viewer",
+      "description": null,
+      "license": {"key": "gpl-3.0", "name": "GNU General Public License v3.0"},
+      "fork": true,
+      "parent": {"owner": {"login": "upstream"}},
+      "allow_forking": true,
+      "stargazers_count": 12,
+      "forks_count": 3,
+      "private": false,
+      "archived": false,
+      "disabled": false,
+      "language": "Java",
+      "topics": ["github", "api"]
+    }""";
+
+  static Stream<JsonCodec> codecs() {
+    return Stream.of(GsonJsonCodec.INSTANCE, JacksonJsonCodec.INSTANCE);
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void decodesRelease(final JsonCodec codec) throws IOException {
+    final var release = codec.read(ReleaseAggregateRoot.class, RELEASE_JSON);
+    assertNotNull(release);
+    assertEquals("123", release.id());
+    assertEquals("aivruu", release.author());
+    assertEquals("v4.1.0", release.tag());
+    // Releases without a title use their tag-name.
+    assertEquals("v4.1.0", release.name());
+    assertEquals(2, release.assets().length);
+    final var asset = release.assets()[0];
+    assertEquals("repo-viewer.jar", asset.name());
+    assertEquals("https://example.com/repo-viewer.jar", asset.url());
+    assertEquals(2048L, asset.size());
+    assertEquals("application/java-archive", asset.contentType());
+    assertEquals(7L, asset.downloadCount());
+    assertEquals("2025-01-01T00:00:00Z", asset.updatedAt());
+    assertEquals("sha256:abc", asset.digest());
+    assertEquals(-1L, release.assets()[1].size());
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void decodesRepository(final JsonCodec codec) throws IOException {
+    final var repository = codec.read(RepositoryAggregateRoot.class, REPOSITORY_JSON);
+    assertNotNull(repository);
+    assertEquals("456", repository.id());
+    assertEquals("aivruu", repository.owner());
+    assertEquals("", repository.description());
+    assertEquals("GNU General Public License v3.0", repository.license());
+    final var properties = repository.properties();
+    assertEquals("upstream", properties.parent());
+    assertEquals(12, properties.stars());
+    assertEquals(3, properties.forks());
+    assertEquals("Java", properties.language());
+    assertArrayEquals(new String[] {"github", "api"}, properties.topics());
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void decodesStream(final JsonCodec codec) throws IOException {
+    final var stream = new ByteArrayInputStream(RELEASE_JSON.getBytes(StandardCharsets.UTF_8));
+    final var release = codec.read(ReleaseAggregateRoot.class, stream);
+    assertNotNull(release);
+    assertEquals("v4.1.0", release.tag());
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void appliesProjection(final JsonCodec codec) throws IOException {
+    final var release = codec.read(ReleaseAggregateRoot.class, RELEASE_JSON, EnumSet.noneOf(AggregateField.class));
+    assertNotNull(release);
+    assertEquals("", release.author());
+    assertEquals(0, release.assets().length);
+    final var repository = codec.read(
+      RepositoryAggregateRoot.class, REPOSITORY_JSON, EnumSet.of(AggregateField.OWNER));
+    assertNotNull(repository);
+    assertNull(repository.license());
+    assertNull(repository.properties().parent());
+    assertNull(repository.properties().topics());
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void returnsNullForNullOrIncompleteDocuments(final JsonCodec codec) throws IOException {
+    assertNull(codec.read(ReleaseAggregateRoot.class, "null"));
+    assertNull(codec.read(RepositoryAggregateRoot.class, "null"));
+    assertNull(codec.read(ReleaseAggregateRoot.class, "{\"id\": 1, \"author\": {\"login\": \"a\"}}"));
+    assertNull(codec.read(RepositoryAggregateRoot.class, "{\"id\": 1, \"name\": \"a\"}"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void rejectsNullRequiredStrings(final JsonCodec codec) {
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"tag_name\": \"v4.1.0\"", "\"tag_name\": null")));
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"name\": \"repo-viewer.jar\"", "\"name\": null")));
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"id\": 456", "\"id\": null")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void coercesNumericValues(final JsonCodec codec) throws IOException {
+    final var repository = codec.read(RepositoryAggregateRoot.class, REPOSITORY_JSON
+      .replace("\"stargazers_count\": 12", "\"stargazers_count\": \"5\"")
+      .replace("\"forks_count\": 3", "\"forks_count\": 4.0"));
+    assertNotNull(repository);
+    assertEquals(5, repository.properties().stars());
+    assertEquals(4, repository.properties().forks());
+    final var release = codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"size\": 2048", "\"size\": \"2048\""));
+    assertNotNull(release);
+    assertEquals(2048L, release.assets()[0].size());
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void rejectsInvalidNumericValues(final JsonCodec codec) {
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"stargazers_count\": 12", "\"stargazers_count\": \"five\"")));
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"forks_count\": 3", "\"forks_count\": 3.5")));
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"stargazers_count\": 12", "\"stargazers_count\": 3000000000")));
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"size\": 2048", "\"size\": true")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  void rejectsUnexpectedValueTypes(final JsonCodec codec) {
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"fork\": true", "\"fork\": \"true\"")));
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("\"owner\": {\"login\": \"aivruu\"}", "\"owner\": \"aivruu\"")));
+    assertThrows(IOException.class, () -> codec.read(RepositoryAggregateRoot.class,
+      REPOSITORY_JSON.replace("[\"github\", \"api\"]", "[\"github\", {}]")));
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"id\": 123", "\"id\": {}")));
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class,
+      RELEASE_JSON.replace("\"assets\": [", "\"assets\": [null,")));
+    assertThrows(IOException.class, () -> codec.read(ReleaseAggregateRoot.class, "[]"));
+  }
+
+  @Test
+  void enginesDecodeTheSameRelease() throws IOException {
+    final var gson = GsonJsonCodec.INSTANCE.read(ReleaseAggregateRoot.class, RELEASE_JSON);
+    final var jackson = JacksonJsonCodec.INSTANCE.read(ReleaseAggregateRoot.class, RELEASE_JSON);
+    assertNotNull(gson);
+    assertNotNull(jackson);
+    assertEquals(gson.id(), jackson.id());
+    assertEquals(gson.author(), jackson.author());
+    assertEquals(gson.tag(), jackson.tag());
+    assertEquals(gson.name(), jackson.name());
+    assertArrayEquals(gson.assets(), jackson.assets());
+  }
+}
@@ -0,0 +1,125 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.infrastructure;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.aivruu.repoviewer.cache.application.AggregateCache;
+import io.github.aivruu.repoviewer.cache.application.ConditionalResponseCache;
+import io.github.aivruu.repoviewer.executor.application.ExecutorHelper;
+import io.github.aivruu.repoviewer.http.application.TokenPool;
+import io.github.aivruu.repoviewer.http.domain.RequestResponseStatus;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the caches only share the data between the requests made with the same credential.
+ */
+final class AuthenticatedCacheTest {
+  private static final byte[] REPOSITORY_JSON =
+    "{\"id\": 1, \"owner\": {\"login\": \"aivruu\"}, \"name\": \"repo-viewer\"}".getBytes(StandardCharsets.UTF_8);
+  private static final String ETAG = "\"repository\"";
+  /** The {@code Authorization} and {@code If-None-Match} headers of every received request. */
+  private final Queue<List<String>> received = new ConcurrentLinkedQueue<>();
+  private HttpServer server;
+
+  @BeforeAll
+  static void buildExecutor() {
+    try {
+      ExecutorHelper.build(4);
+    } catch (final IllegalStateException exception) {
+      // Already initialized by another test.
+    }
+  }
+
+  @BeforeEach
+  void startServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/", exchange -> {
+      final var headers = exchange.getRequestHeaders();
+      final var authorization = headers.getFirst("Authorization");
+      final var etag = headers.getFirst("If-None-Match");
+      this.received.add(List.of(String.valueOf(authorization), String.valueOf(etag)));
+      exchange.getResponseHeaders().add("ETag", ETAG);
+      if (ETAG.equals(etag)) {
+        exchange.sendResponseHeaders(304, -1L);
+      } else {
+        exchange.sendResponseHeaders(200, REPOSITORY_JSON.length);
+        exchange.getResponseBody().write(REPOSITORY_JSON);
+      }
+      exchange.close();
+    });
+    this.server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    this.server.stop(0);
+  }
+
+  private RequestResponseStatus<RepositoryAggregateRoot> send(final Request request) throws Exception {
+    return request.url("http://127.0.0.1:%d/repos/aivruu/repo-viewer".formatted(this.server.getAddress().getPort()))
+      .timeout(2)
+      .repository()
+      .requestAndHandle()
+      .get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void aggregateCacheIsKeyedByCredential() throws Exception {
+    final var cache = new AggregateCache(16, Duration.ofMinutes(1));
+    assertTrue(this.send(Request.create().aggregateCache(cache).token("first")).wasValid());
+    assertTrue(this.send(Request.create().aggregateCache(cache).token("first")).wasValid());
+    assertEquals(1, this.received.size());
+    assertTrue(this.send(Request.create().aggregateCache(cache).token("second")).wasValid());
+    assertTrue(this.send(Request.create().aggregateCache(cache)).wasValid());
+    assertEquals(3, this.received.size());
+  }
+
+  @Test
+  void conditionalCacheIsKeyedByCredential() throws Exception {
+    final var cache = new ConditionalResponseCache();
+    final var tokenPool = new TokenPool("first", "second");
+    assertTrue(this.send(Request.create().conditionalCache(cache).tokenPool(tokenPool)).wasValid());
+    assertTrue(this.send(Request.create().conditionalCache(cache).tokenPool(tokenPool)).wasValid());
+    assertTrue(this.send(Request.create().conditionalCache(cache)).wasValid());
+    assertEquals(1L, cache.hits());
+    final var etags = this.received.stream().map(headers -> headers.get(1)).toList();
+    assertEquals(List.of("null", ETAG, "null"), etags);
+  }
+
+  @Test
+  void poolsWithTheSameTokensShareTheCredential() {
+    assertEquals(new TokenPool("first", "second").credential(), new TokenPool("second", "first").credential());
+    assertNotEquals(new TokenPool("first").credential(), new TokenPool("second").credential());
+  }
+}
@@ -0,0 +1,181 @@
+//
+// Copyright (C) 2024-2025 aivruu - repo-viewer
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+//
+package io.github.aivruu.repoviewer.http.infrastructure;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.aivruu.repoviewer.executor.application.ExecutorHelper;
+import io.github.aivruu.repoviewer.http.application.RateLimitScheduler;
+import io.github.aivruu.repoviewer.http.application.RetryBudget;
+import io.github.aivruu.repoviewer.http.application.RetryPolicy;
+import io.github.aivruu.repoviewer.http.domain.RequestResponseStatus;
+import io.github.aivruu.repoviewer.repository.domain.RepositoryAggregateRoot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link RetryPolicy} against a local stub-server that fails the requests before answering them.
+ */
+final class RequestRetryTest {
+  private static final byte[] REPOSITORY_JSON =
+    "{\"id\": 1, \"owner\": {\"login\": \"aivruu\"}, \"name\": \"repo-viewer\"}".getBytes(StandardCharsets.UTF_8);
+  private final Queue<StubResponse> failures = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger hits = new AtomicInteger();
+  private HttpServer server;
+
+  @BeforeAll
+  static void buildExecutor() {
+    try {
+      ExecutorHelper.build(4);
+    } catch (final IllegalStateException exception) {
+      // Already initialized by another test.
+    }
+  }
+
+  @BeforeEach
+  void startServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/", exchange -> {
+      this.hits.incrementAndGet();
+      final var failure = this.failures.poll();
+      if (failure != null) {
+        failure.headers().forEach(exchange.getResponseHeaders()::add);
+        exchange.sendResponseHeaders(failure.statusCode(), -1L);
+      } else {
+        exchange.sendResponseHeaders(200, REPOSITORY_JSON.length);
+        exchange.getResponseBody().write(REPOSITORY_JSON);
+      }
+      exchange.close();
+    });
+    this.server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    this.server.stop(0);
+  }
+
+  private RequestResponseStatus<RepositoryAggregateRoot> send(final Request request) throws Exception {
+    return request.url("http://127.0.0.1:%d/repos/aivruu/repo-viewer".formatted(this.server.getAddress().getPort()))
+      .timeout(2)
+      .repository()
+      .requestAndHandle()
+      .get(10, TimeUnit.SECONDS);
+  }
+
+  private static RetryPolicy policy(final int maximumAttempts, final RetryBudget budget) {
+    return new RetryPolicy(maximumAttempts, Duration.ofMillis(10), Duration.ofSeconds(2), budget);
+  }
+
+  @Test
+  void retriesTransientFailures() throws Exception {
+    this.failures.add(new StubResponse(503, Map.of()));
+    this.failures.add(new StubResponse(502, Map.of()));
+    final var policy = policy(3, new RetryBudget(0.1D, 10));
+    final var status = this.send(Request.create().retryPolicy(policy));
+    assertTrue(status.wasValid());
+    assertEquals(3, this.hits.get());
+    assertEquals(2L, policy.retries());
+  }
+
+  @Test
+  void stopsAfterMaximumAttempts() throws Exception {
+    for (var i = 0; i < 5; i++) {
+      this.failures.add(new StubResponse(500, Map.of()));
+    }
+    final var status = this.send(Request.create().retryPolicy(policy(3, new RetryBudget(0.1D, 10))));
+    assertTrue(status.wasInvalid());
+    assertEquals(3, this.hits.get());
+  }
+
+  @Test
+  void doesNotRetryPermanentFailures() throws Exception {
+    this.failures.add(new StubResponse(404, Map.of()));
+    final var status = this.send(Request.create().retryPolicy(policy(3, new RetryBudget(0.1D, 10))));
+    assertTrue(status.wasInvalid());
+    assertEquals(1, this.hits.get());
+  }
+
+  @Test
+  void retriesSecondaryRateLimitWithRetryAfterDate() throws Exception {
+    final var retryAt = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(1));
+    this.failures.add(new StubResponse(403, Map.of("Retry-After", retryAt)));
+    final var status = this.send(Request.create().retryPolicy(policy(3, new RetryBudget(0.1D, 10))));
+    assertTrue(status.wasValid());
+    assertEquals(2, this.hits.get());
+  }
+
+  @Test
+  void ignoresMalformedRetryAfter() throws Exception {
+    this.failures.add(new StubResponse(403, Map.of("Retry-After", "soon", "X-RateLimit-Remaining", "none")));
+    final var status = this.send(Request.create()
+      .retryPolicy(policy(3, new RetryBudget(0.1D, 10)))
+      .rateLimitScheduler(new RateLimitScheduler(10, Duration.ofSeconds(5))));
+    assertTrue(status.wasForbidden());
+    assertEquals(1, this.hits.get());
+  }
+
+  @Test
+  void retriesAreLimitedByTheBudget() throws Exception {
+    for (var i = 0; i < 10; i++) {
+      this.failures.add(new StubResponse(503, Map.of()));
+    }
+    final var budget = new RetryBudget(0.0D, 1);
+    final var policy = policy(5, budget);
+    assertTrue(this.send(Request.create().retryPolicy(policy)).wasInvalid());
+    assertTrue(this.send(Request.create().retryPolicy(policy)).wasInvalid());
+    // Only the budget's single retry was made, every other attempt was refused by it.
+    assertEquals(3, this.hits.get());
+    assertEquals(1L, policy.retries());
+    assertEquals(2L, policy.budgetExhausted());
+  }
+
+  @Test
+  void depositsOncePerRequest() throws Exception {
+    this.failures.add(new StubResponse(503, Map.of()));
+    final var budget = new RetryBudget(0.25D, 2);
+    final var policy = policy(2, budget);
+    assertTrue(this.send(Request.create().retryPolicy(policy)).wasValid());
+    assertEquals(1.0D, budget.balance());
+    // The rate-limited response requeues the request, which must not deposit into the budget again.
+    this.failures.add(new StubResponse(429, Map.of("Retry-After", "1")));
+    final var status = this.send(Request.create()
+      .retryPolicy(policy)
+      .rateLimitScheduler(new RateLimitScheduler(10, Duration.ofSeconds(5))));
+    assertTrue(status.wasValid());
+    assertEquals(1.25D, budget.balance());
+  }
+
+  private record StubResponse(int statusCode, Map<String, String> headers) {}
+}